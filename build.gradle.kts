@@ -3,6 +3,7 @@ plugins {
     id("org.springframework.boot") version "3.0.6"
     id("io.spring.dependency-management") version "1.1.0"
     id("jacoco")
+    id("me.champeau.jmh") version "0.7.1"
 }
 
 tasks.test {
@@ -29,6 +30,7 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-data-redis")
     implementation("org.springframework.boot:spring-boot-starter-web")
     implementation("org.springframework.boot:spring-boot-starter-validation")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
     implementation("org.springframework.cloud:spring-cloud-starter-openfeign:4.0.2")
     annotationProcessor("org.springframework.boot:spring-boot-configuration-processor")
 
@@ -74,6 +76,10 @@ tasks.withType<Test> {
 
 val test by tasks.getting(Test::class) { testLogging.showStandardStreams = true }
 
+jmh {
+    profilers.add("gc")
+}
+
 tasks.bootJar {
     archiveFileName.set("service.jar")
 }
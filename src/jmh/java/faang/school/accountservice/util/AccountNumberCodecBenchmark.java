@@ -0,0 +1,85 @@
+package faang.school.accountservice.util;
+
+import faang.school.accountservice.util.AccountNumberCodec.CheckDigit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountNumberCodecBenchmark {
+
+    private static final int IDENTITY = 6555;
+    private static final int LENGTH = 16;
+
+    @Param({"NONE", "LUHN", "MOD_97"})
+    private CheckDigit checkDigit;
+
+    private AccountNumberCodec codec;
+    private char[] buffer;
+    private String accountNumber;
+    private long sequence;
+
+    @Setup
+    public void setUp() {
+        codec = new AccountNumberCodec(IDENTITY, LENGTH, checkDigit);
+        buffer = new char[LENGTH];
+        sequence = 123_456_789L;
+        accountNumber = codec.format(sequence);
+    }
+
+    @Benchmark
+    public String legacyBuild() {
+        return legacyBuildAccountNumber(IDENTITY, sequence, LENGTH);
+    }
+
+    @Benchmark
+    public String codecFormat() {
+        return codec.format(sequence);
+    }
+
+    @Benchmark
+    public void codecEncode(Blackhole blackhole) {
+        blackhole.consume(codec.encode(sequence, buffer, 0));
+        blackhole.consume(buffer);
+    }
+
+    @Benchmark
+    public boolean legacySequenceCheck() {
+        return Long.toString(sequence).length() <= LENGTH - Integer.toString(IDENTITY).length();
+    }
+
+    @Benchmark
+    public boolean codecSequenceCheck() {
+        return AccountNumberCodec.digits(sequence) <= LENGTH - AccountNumberCodec.digits(IDENTITY);
+    }
+
+    @Benchmark
+    public boolean codecIsValid() {
+        return codec.isValid(accountNumber);
+    }
+
+    private static String legacyBuildAccountNumber(int accountTypeIdentity, long uniqueNumber, int numberLength) {
+        StringBuilder accountNumber = new StringBuilder();
+        accountNumber.append(accountTypeIdentity);
+        accountNumber.append("0".repeat(Math.max(0, numberLength - String.valueOf(accountTypeIdentity).length())));
+        accountNumber.replace(accountNumber.length() - String.valueOf(uniqueNumber).length(),
+                accountNumber.length(), String.valueOf(uniqueNumber));
+        return accountNumber.toString();
+    }
+}
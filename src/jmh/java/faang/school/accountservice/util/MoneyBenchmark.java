@@ -0,0 +1,83 @@
+package faang.school.accountservice.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MoneyBenchmark {
+
+    @Param({"16", "256"})
+    private int postings;
+
+    private BigDecimal openingBalance;
+    private BigDecimal[] amounts;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        openingBalance = new BigDecimal("1000000.00");
+        amounts = new BigDecimal[postings];
+        for (int i = 0; i < postings; i++) {
+            amounts[i] = BigDecimal.valueOf(random.nextInt(20_000) - 10_000, 2);
+        }
+    }
+
+    @Benchmark
+    public void bigDecimalPostings(Blackhole blackhole) {
+        BigDecimal balance = openingBalance;
+        for (BigDecimal amount : amounts) {
+            BigDecimal next = balance.add(amount);
+            if (next.signum() < 0) {
+                continue;
+            }
+            balance = next;
+            blackhole.consume(balance);
+        }
+        blackhole.consume(balance);
+    }
+
+    @Benchmark
+    public void minorUnitPostings(Blackhole blackhole) {
+        long balance = Money.toMinorUnits(openingBalance);
+        for (BigDecimal amount : amounts) {
+            long next = Money.add(balance, Money.toMinorUnits(amount));
+            if (next < 0) {
+                continue;
+            }
+            balance = next;
+            blackhole.consume(Money.toDecimal(balance));
+        }
+        blackhole.consume(balance);
+    }
+
+    @Benchmark
+    public void minorUnitArithmeticOnly(Blackhole blackhole) {
+        long balance = Money.toMinorUnits(openingBalance);
+        for (BigDecimal amount : amounts) {
+            long next = Money.add(balance, Money.toMinorUnits(amount));
+            if (next >= 0) {
+                balance = next;
+            }
+        }
+        blackhole.consume(Money.toDecimal(balance));
+    }
+}
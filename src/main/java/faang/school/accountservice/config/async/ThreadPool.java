@@ -1,5 +1,6 @@
 package faang.school.accountservice.config.async;
 
+import faang.school.accountservice.properties.BalanceSequencerProperties;
 import faang.school.accountservice.properties.CreateAccountThreadPoolProperties;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
@@ -13,6 +14,7 @@ import java.util.concurrent.Executor;
 public class ThreadPool {
 
     private final CreateAccountThreadPoolProperties accountPoolProp;
+    private final BalanceSequencerProperties sequencerPoolProp;
 
     @Bean(name = "createAccountThreadPool")
     public Executor createAccountThreadPool() {
@@ -24,4 +26,15 @@ public class ThreadPool {
         executor.initialize();
         return executor;
     }
+
+    @Bean(name = "balanceSequencerThreadPool")
+    public Executor balanceSequencerThreadPool() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(sequencerPoolProp.getCorePoolSize());
+        executor.setMaxPoolSize(sequencerPoolProp.getMaxPoolSize());
+        executor.setQueueCapacity(sequencerPoolProp.getQueueCapacity());
+        executor.setThreadNamePrefix(sequencerPoolProp.getNamePrefix());
+        executor.initialize();
+        return executor;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,6 @@
+package faang.school.accountservice.config.datasource;
+
+public enum DataSourceType {
+    PRIMARY,
+    REPLICA
+}
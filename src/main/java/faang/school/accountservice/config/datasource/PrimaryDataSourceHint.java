@@ -0,0 +1,32 @@
+package faang.school.accountservice.config.datasource;
+
+import java.util.function.Supplier;
+
+public final class PrimaryDataSourceHint {
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = ThreadLocal.withInitial(() -> false);
+
+    private PrimaryDataSourceHint() {
+    }
+
+    public static <T> T onPrimary(Supplier<T> action) {
+        boolean previous = PRIMARY_REQUIRED.get();
+        PRIMARY_REQUIRED.set(true);
+        try {
+            return action.get();
+        } finally {
+            PRIMARY_REQUIRED.set(previous);
+        }
+    }
+
+    public static void runOnPrimary(Runnable action) {
+        onPrimary(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    static boolean isPrimaryRequired() {
+        return PRIMARY_REQUIRED.get();
+    }
+}
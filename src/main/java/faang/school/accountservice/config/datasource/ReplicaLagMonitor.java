@@ -0,0 +1,76 @@
+package faang.school.accountservice.config.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private static final String REPLICA_LAG_QUERY = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+            END
+            """;
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final Duration maxLag;
+    private final AtomicBoolean available = new AtomicBoolean(false);
+    private final AtomicLong lagMillis = new AtomicLong(-1);
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "replica-lag-monitor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, Duration maxLag, MeterRegistry meterRegistry) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+        this.maxLag = maxLag;
+        meterRegistry.gauge("datasource.replica.lag", lagMillis);
+    }
+
+    public void start(Duration checkInterval) {
+        checkLag();
+        long intervalMillis = checkInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::checkLag, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    public boolean isAvailable() {
+        return available.get();
+    }
+
+    public void checkLag() {
+        try {
+            Number lag = replicaJdbcTemplate.queryForObject(REPLICA_LAG_QUERY, Number.class);
+            long currentLag = lag == null ? 0 : lag.longValue();
+            lagMillis.set(currentLag);
+            updateAvailability(currentLag <= maxLag.toMillis(), "lag " + currentLag + " ms");
+        } catch (RuntimeException e) {
+            lagMillis.set(-1);
+            updateAvailability(false, e.getMessage());
+        }
+    }
+
+    private void updateAvailability(boolean isAvailable, String reason) {
+        if (available.getAndSet(isAvailable) != isAvailable) {
+            if (isAvailable) {
+                log.info("Read replica is available again, routing read-only transactions to it ({})", reason);
+            } else {
+                log.warn("Read replica is unavailable, routing read-only transactions to primary ({})", reason);
+            }
+        }
+    }
+}
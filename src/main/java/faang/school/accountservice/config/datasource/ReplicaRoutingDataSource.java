@@ -0,0 +1,35 @@
+package faang.school.accountservice.config.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final BooleanSupplier replicaAvailable;
+    private final Map<DataSourceType, Counter> connectionCounters = new EnumMap<>(DataSourceType.class);
+
+    public ReplicaRoutingDataSource(BooleanSupplier replicaAvailable, MeterRegistry meterRegistry) {
+        this.replicaAvailable = replicaAvailable;
+        for (DataSourceType type : DataSourceType.values()) {
+            connectionCounters.put(type, meterRegistry.counter("datasource.routing.connections",
+                    "pool", type.name().toLowerCase()));
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        DataSourceType type = TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !PrimaryDataSourceHint.isPrimaryRequired()
+                && replicaAvailable.getAsBoolean()
+                ? DataSourceType.REPLICA
+                : DataSourceType.PRIMARY;
+        connectionCounters.get(type).increment();
+        return type;
+    }
+}
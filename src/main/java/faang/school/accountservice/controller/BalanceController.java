@@ -1,22 +1,106 @@
 package faang.school.accountservice.controller;
 
 import faang.school.accountservice.dto.BalanceDto;
+import faang.school.accountservice.dto.TransactionDto;
+import faang.school.accountservice.dto.balance_history.BalanceHistoryPageDto;
+import faang.school.accountservice.dto.hold.HoldDto;
+import faang.school.accountservice.dto.posting.PostingDto;
+import faang.school.accountservice.dto.posting.PostingResultDto;
+import faang.school.accountservice.dto.transfer.TransferDto;
+import faang.school.accountservice.dto.transfer.TransferResultDto;
+import faang.school.accountservice.service.BalanceHistoryService;
+import faang.school.accountservice.service.BalancePostingSequencer;
 import faang.school.accountservice.service.BalanceService;
+import faang.school.accountservice.service.hold.BalanceHoldService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/account")
 @RequiredArgsConstructor
+@Validated
 public class BalanceController {
 
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final BalanceService balanceService;
+    private final BalanceHistoryService balanceHistoryService;
+    private final BalanceHoldService balanceHoldService;
+    private final BalancePostingSequencer balancePostingSequencer;
 
     @GetMapping("/{accountId}/balance")
     public BalanceDto getBalance(@PathVariable Long accountId) {
         return balanceService.getBalance(accountId);
     }
+
+    @GetMapping("/{accountId}/balance/history")
+    public BalanceHistoryPageDto getBalanceHistory(@PathVariable Long accountId,
+                                                   @RequestParam(required = false) String cursor,
+                                                   @RequestParam(required = false) Integer limit) {
+        return balanceHistoryService.getHistory(accountId, cursor, limit);
+    }
+
+    @GetMapping("/{accountId}/balance/history/stream")
+    public ResponseEntity<StreamingResponseBody> streamBalanceHistory(@PathVariable Long accountId) {
+        StreamingResponseBody body = outputStream -> balanceHistoryService.streamHistory(accountId, outputStream);
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @PostMapping("/{accountId}/balance/transaction")
+    public BalanceDto applyTransaction(@PathVariable Long accountId,
+                                       @Valid @RequestBody TransactionDto transaction) {
+        return balancePostingSequencer.post(accountId, transaction);
+    }
+
+    @PostMapping("/{accountId}/balance/transactions")
+    public BalanceDto applyTransactions(@PathVariable Long accountId,
+                                        @Valid @RequestBody @NotEmpty List<@Valid TransactionDto> transactions) {
+        return balanceService.applyTransactions(accountId, transactions);
+    }
+
+    @PostMapping("/{accountId}/balance/holds")
+    public BalanceDto placeHold(@PathVariable Long accountId, @Valid @RequestBody HoldDto hold) {
+        return balanceHoldService.placeHold(accountId, hold);
+    }
+
+    @PostMapping("/{accountId}/balance/holds/{operationId}/capture")
+    public BalanceDto captureHold(@PathVariable Long accountId, @PathVariable Long operationId) {
+        return balanceHoldService.captureHold(accountId, operationId);
+    }
+
+    @PostMapping("/{accountId}/balance/holds/{operationId}/release")
+    public BalanceDto releaseHold(@PathVariable Long accountId, @PathVariable Long operationId) {
+        return balanceHoldService.releaseHold(accountId, operationId);
+    }
+
+    @PostMapping("/balance/postings")
+    public List<PostingResultDto> applyPostings(@Valid @RequestBody @NotEmpty List<@Valid PostingDto> postings) {
+        return balanceService.applyPostings(postings);
+    }
+
+    @PostMapping("/transfers")
+    public TransferResultDto transfer(@Valid @RequestBody TransferDto transfer) {
+        return balanceService.transfer(transfer);
+    }
+
+    @PostMapping("/transfers/batch")
+    public List<TransferResultDto> applyTransfers(@Valid @RequestBody @NotEmpty List<@Valid TransferDto> transfers) {
+        return balanceService.applyTransfers(transfers);
+    }
 }
@@ -1,6 +1,9 @@
 package faang.school.accountservice.dto;
 
 import faang.school.accountservice.enums.OperationType;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -14,9 +17,14 @@ import java.math.BigDecimal;
 @AllArgsConstructor
 public class TransactionDto {
 
+    @NotNull
+    @Positive
     private Long operationId;
 
+    @NotNull
+    @Digits(integer = 16, fraction = 2)
     private BigDecimal amount;
 
+    @NotNull
     private OperationType operationType;
 }
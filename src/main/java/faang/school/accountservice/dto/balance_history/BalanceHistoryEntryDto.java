@@ -0,0 +1,28 @@
+package faang.school.accountservice.dto.balance_history;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceHistoryEntryDto {
+
+    private Long id;
+
+    private Long balanceVersion;
+
+    private BigDecimal authorizationBalance;
+
+    private BigDecimal actualBalance;
+
+    private Long operationId;
+
+    private LocalDateTime createdAt;
+}
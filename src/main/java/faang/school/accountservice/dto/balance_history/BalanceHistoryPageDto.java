@@ -0,0 +1,19 @@
+package faang.school.accountservice.dto.balance_history;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceHistoryPageDto {
+
+    private List<BalanceHistoryEntryDto> items;
+
+    private String nextCursor;
+}
@@ -0,0 +1,33 @@
+package faang.school.accountservice.dto.posting;
+
+import faang.school.accountservice.enums.OperationType;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostingDto {
+
+    @NotNull
+    private Long accountId;
+
+    @NotNull
+    @Positive
+    private Long operationId;
+
+    @NotNull
+    @Digits(integer = 16, fraction = 2)
+    private BigDecimal amount;
+
+    @NotNull
+    private OperationType operationType;
+}
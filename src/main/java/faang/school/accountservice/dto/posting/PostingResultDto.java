@@ -0,0 +1,21 @@
+package faang.school.accountservice.dto.posting;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostingResultDto {
+
+    private Long accountId;
+
+    private Long operationId;
+
+    private boolean success;
+
+    private String message;
+}
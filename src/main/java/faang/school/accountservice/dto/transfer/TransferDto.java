@@ -0,0 +1,34 @@
+package faang.school.accountservice.dto.transfer;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransferDto {
+
+    @NotNull
+    private Long fromAccountId;
+
+    @NotNull
+    private Long toAccountId;
+
+    @NotNull
+    @Positive
+    private Long operationId;
+
+    @NotNull
+    @DecimalMin(value = "0", inclusive = false)
+    @Digits(integer = 16, fraction = 2)
+    private BigDecimal amount;
+}
@@ -0,0 +1,24 @@
+package faang.school.accountservice.dto.transfer;
+
+import faang.school.accountservice.dto.BalanceDto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransferResultDto {
+
+    private Long operationId;
+
+    private boolean success;
+
+    private String message;
+
+    private BalanceDto fromBalance;
+
+    private BalanceDto toBalance;
+}
@@ -7,6 +7,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
@@ -20,7 +21,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
@@ -28,7 +29,8 @@ import java.time.LocalDateTime;
 public class Balance {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "balance_id_seq")
+    @SequenceGenerator(name = "balance_id_seq", sequenceName = "balance_id_seq", allocationSize = 50)
     private long id;
 
     @Builder.Default
@@ -51,6 +53,9 @@ public class Balance {
     @Column(name = "version", nullable = false)
     private int version;
 
+    @Column(name = "ledger_position", insertable = false, updatable = false)
+    private Long ledgerPosition;
+
     @OneToOne
     @JoinColumn(name = "account_id")
     private Account account;
@@ -11,6 +11,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
@@ -31,7 +32,8 @@ import java.time.LocalDateTime;
 public class RequestTask {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "request_task_id_seq")
+    @SequenceGenerator(name = "request_task_id_seq", sequenceName = "request_task_id_seq", allocationSize = 50)
     private Long id;
 
     @Enumerated(EnumType.STRING)
@@ -13,6 +13,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
@@ -37,7 +38,8 @@ import java.util.List;
 public class SavingsAccount {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "savings_account_id_seq")
+    @SequenceGenerator(name = "savings_account_id_seq", sequenceName = "savings_account_id_seq", allocationSize = 50)
     private long id;
 
     @OneToOne(fetch = FetchType.LAZY)
@@ -9,6 +9,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -29,7 +30,8 @@ import java.time.LocalDateTime;
 public class SavingsAccountTariffChangelog {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "savings_account_tariff_changelog_id_seq")
+    @SequenceGenerator(name = "savings_account_tariff_changelog_id_seq", sequenceName = "savings_account_tariff_changelog_id_seq", allocationSize = 50)
     private long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
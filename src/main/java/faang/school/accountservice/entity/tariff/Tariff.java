@@ -11,6 +11,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
@@ -35,7 +36,8 @@ import java.util.List;
 public class Tariff {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tariff_id_seq")
+    @SequenceGenerator(name = "tariff_id_seq", sequenceName = "tariff_id_seq", allocationSize = 50)
     private long id;
 
     @Column(name = "name", length = 128, unique = true, nullable = false)
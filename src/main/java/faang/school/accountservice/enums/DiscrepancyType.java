@@ -0,0 +1,9 @@
+package faang.school.accountservice.enums;
+
+public enum DiscrepancyType {
+    MISSING_AUDIT,
+    VERSION_MISMATCH,
+    ACTUAL_BALANCE_MISMATCH,
+    AUTHORIZATION_BALANCE_MISMATCH,
+    AUDIT_CHAIN_GAP
+}
@@ -0,0 +1,8 @@
+package faang.school.accountservice.enums;
+
+public enum HoldStatus {
+    OPEN,
+    CAPTURED,
+    RELEASED,
+    EXPIRED
+}
@@ -0,0 +1,8 @@
+package faang.school.accountservice.exception;
+
+public class HoldConflictException extends RuntimeException {
+
+    public HoldConflictException(String message) {
+        super(message);
+    }
+}
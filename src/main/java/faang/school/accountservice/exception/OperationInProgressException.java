@@ -0,0 +1,8 @@
+package faang.school.accountservice.exception;
+
+public class OperationInProgressException extends RuntimeException {
+
+    public OperationInProgressException(long accountId, long operationId) {
+        super("Operation %d for account %d is still in progress, retry later".formatted(operationId, accountId));
+    }
+}
@@ -1,7 +1,9 @@
 package faang.school.accountservice.exception.global_handler;
 
 import faang.school.accountservice.exception.BalanceBelowZeroException;
+import faang.school.accountservice.exception.HoldConflictException;
 import faang.school.accountservice.exception.JsonMappingException;
+import faang.school.accountservice.exception.OperationInProgressException;
 import faang.school.accountservice.exception.UniqueConstraintException;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.ConstraintViolationException;
@@ -39,10 +41,11 @@ public class GlobalExceptionHandler {
         return buildResponse(e);
     }
 
-    @ExceptionHandler(UniqueConstraintException.class)
+    @ExceptionHandler({UniqueConstraintException.class, OperationInProgressException.class,
+            HoldConflictException.class})
     @ResponseStatus(HttpStatus.CONFLICT)
-    public ErrorResponse handleUniqueConstraintException(UniqueConstraintException ex) {
-        return buildResponse(ex);
+    public ErrorResponse handleConflict(Exception e) {
+        return buildResponse(e);
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
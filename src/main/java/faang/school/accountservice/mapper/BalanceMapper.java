@@ -2,10 +2,21 @@ package faang.school.accountservice.mapper;
 
 import faang.school.accountservice.dto.BalanceDto;
 import faang.school.accountservice.entity.Balance;
+import faang.school.accountservice.repository.projection.BalanceView;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 @Mapper(componentModel = "spring")
 public interface BalanceMapper {
 
     BalanceDto toDto(Balance balance);
-}
\ No newline at end of file
+
+    @Mapping(source = "accountId", target = "account.id")
+    @Mapping(source = "accountNumber", target = "account.accountNumber")
+    @Mapping(source = "accountType", target = "account.type")
+    @Mapping(source = "accountCurrency", target = "account.currency")
+    @Mapping(source = "accountStatus", target = "account.status")
+    @Mapping(source = "accountCreatedAt", target = "account.createdAt")
+    @Mapping(source = "accountUpdatedAt", target = "account.updatedAt")
+    BalanceDto toDto(BalanceView balanceView);
+}
@@ -0,0 +1,17 @@
+package faang.school.accountservice.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "account.number.block-allocation")
+public class AccountNumberBlockProperties {
+
+    private boolean enabled;
+    private long blockSize = 1000;
+    private long lowWatermark = 200;
+}
@@ -0,0 +1,20 @@
+package faang.school.accountservice.properties;
+
+import faang.school.accountservice.util.AccountNumberCodec.CheckDigit;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Component
+@ConfigurationProperties(prefix = "account.number.format")
+public class AccountNumberFormatProperties {
+
+    private CheckDigit checkDigit = CheckDigit.NONE;
+}
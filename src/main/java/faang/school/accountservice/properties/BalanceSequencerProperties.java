@@ -0,0 +1,22 @@
+package faang.school.accountservice.properties;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Setter
+@Getter
+@Configuration
+@AllArgsConstructor
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "async.balance-sequencer-pool")
+public class BalanceSequencerProperties {
+    private int corePoolSize;
+    private int maxPoolSize;
+    private int queueCapacity;
+    private String namePrefix;
+    private int maxBatchSize;
+}
@@ -0,0 +1,21 @@
+package faang.school.accountservice.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "account.number.replenishment")
+public class FreeAccountNumberReplenishmentProperties {
+
+    private boolean enabled = true;
+    private Duration tick = Duration.ofMinutes(1);
+    private Duration coverage = Duration.ofHours(6);
+    private double lowWatermarkRatio = 0.25;
+    private double rateSmoothing = 0.3;
+}
@@ -0,0 +1,25 @@
+package faang.school.accountservice.properties.balance;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "account.balance.archive")
+public class BalanceArchiveProperties {
+
+    private boolean enabled;
+    private String cron;
+    private String directory = "/var/lib/account-service/balance-audit-archive";
+    private int retentionMonths = 12;
+    private int blockRows = 4096;
+    private int fetchSize = 1000;
+    private DataSize maxSegmentSize = DataSize.ofMegabytes(1024);
+    private Duration refreshInterval = Duration.ofMinutes(5);
+}
@@ -0,0 +1,22 @@
+package faang.school.accountservice.properties.balance;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "account.balance.audit-buffer")
+public class BalanceAuditBufferProperties {
+
+    private int capacity = 10000;
+    private int unwrittenCapacity = 10000;
+    private int batchSize = 500;
+    private Duration flushInterval = Duration.ofMillis(200);
+    private int maxAttempts = 3;
+    private Duration retryBackoff = Duration.ofMillis(100);
+}
@@ -0,0 +1,17 @@
+package faang.school.accountservice.properties.balance;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "account.balance.audit-partitions")
+public class BalanceAuditPartitionProperties {
+
+    private String cron;
+    private int monthsAhead = 3;
+    private int retentionMonths;
+}
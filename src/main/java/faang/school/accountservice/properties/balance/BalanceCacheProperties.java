@@ -0,0 +1,18 @@
+package faang.school.accountservice.properties.balance;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "account.balance.cache")
+public class BalanceCacheProperties {
+
+    private boolean enabled;
+    private Duration ttl = Duration.ofMinutes(10);
+}
@@ -0,0 +1,18 @@
+package faang.school.accountservice.properties.balance;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "account.balance.daily-min")
+public class BalanceDailyMinProperties {
+
+    private boolean backfillEnabled;
+    private LocalDate backfillFrom;
+}
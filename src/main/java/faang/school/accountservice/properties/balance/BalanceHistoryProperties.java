@@ -0,0 +1,17 @@
+package faang.school.accountservice.properties.balance;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "account.balance.history")
+public class BalanceHistoryProperties {
+
+    private int defaultPageSize = 50;
+    private int maxPageSize = 500;
+    private int streamFetchSize = 1000;
+}
@@ -0,0 +1,23 @@
+package faang.school.accountservice.properties.balance;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "account.balance.holds")
+public class BalanceHoldProperties {
+
+    private Duration defaultTtl = Duration.ofDays(7);
+    private Duration tick = Duration.ofSeconds(1);
+    private int wheelSize = 64;
+    private int loadFetchSize = 10000;
+    private Duration expiryRetryDelay = Duration.ofMinutes(1);
+    private Duration orphanGrace = Duration.ofMinutes(5);
+    private int sweepBatchSize = 1000;
+}
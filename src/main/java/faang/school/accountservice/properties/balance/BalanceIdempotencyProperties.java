@@ -0,0 +1,16 @@
+package faang.school.accountservice.properties.balance;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "account.balance.idempotency")
+public class BalanceIdempotencyProperties {
+
+    private int recentCapacity = 100_000;
+    private int segments = 16;
+}
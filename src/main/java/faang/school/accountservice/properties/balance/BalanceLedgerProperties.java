@@ -0,0 +1,26 @@
+package faang.school.accountservice.properties.balance;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Set;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "account.balance.ledger")
+public class BalanceLedgerProperties {
+
+    private Set<Long> accountIds = new HashSet<>();
+    private String snapshotCron;
+    private int snapshotBatchSize = 1000;
+    private boolean migrateAuditsOnStartup;
+    private int migrationBatchSize = 1000;
+
+    public boolean isLedger(long accountId) {
+        return accountIds.contains(accountId);
+    }
+}
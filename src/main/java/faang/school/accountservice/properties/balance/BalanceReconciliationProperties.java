@@ -0,0 +1,22 @@
+package faang.school.accountservice.properties.balance;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "account.balance.reconciliation")
+public class BalanceReconciliationProperties {
+
+    private boolean enabled;
+    private String cron;
+    private long rangeSize = 10_000;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private int fetchSize = 1000;
+    private Duration gracePeriod = Duration.ofMinutes(1);
+}
@@ -0,0 +1,23 @@
+package faang.school.accountservice.properties.balance;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Set;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "account.balance.striping")
+public class BalanceStripingProperties {
+
+    private int stripes;
+    private Set<Long> accountIds = new HashSet<>();
+
+    public boolean isStriped(long accountId) {
+        return stripes > 1 && accountIds.contains(accountId);
+    }
+}
@@ -16,4 +16,11 @@ public interface AccountNumbersSequenceRepository extends JpaRepository<AccountN
         RETURNING account_type, current_value"""
     )
     AccountNumberSequence incrementCounter(@Param("accountType") String accountType, @Param("batchSize") long batchSize);
+
+    @Query(nativeQuery = true, value = """
+        SELECT COALESCE(MAX(current_value), 0)
+        FROM account_numbers_sequence
+        WHERE account_type = :accountType"""
+    )
+    long findCurrentValue(@Param("accountType") String accountType);
 }
\ No newline at end of file
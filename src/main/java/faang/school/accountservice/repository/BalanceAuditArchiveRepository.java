@@ -0,0 +1,126 @@
+package faang.school.accountservice.repository;
+
+import faang.school.accountservice.dto.balance_history.BalanceHistoryEntryDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.regex.Pattern;
+
+@Repository
+@RequiredArgsConstructor
+public class BalanceAuditArchiveRepository {
+
+    private static final Pattern MONTHLY_TABLE_NAME = Pattern.compile("balance_audit_\\d{4}_\\d{2}");
+    private static final DateTimeFormatter TABLE_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final String TABLE_PREFIX = "balance_audit_";
+
+    private static final String FIND_MONTHLY_TABLES = """
+            SELECT c.relname,
+                   EXISTS (SELECT 1 FROM pg_inherits i WHERE i.inhrelid = c.oid) AS attached
+            FROM pg_class c
+            JOIN pg_namespace n ON n.oid = c.relnamespace
+            WHERE c.relkind = 'r'
+            AND n.nspname = current_schema()
+            AND c.relname ~ '^balance_audit_[0-9]{4}_[0-9]{2}$'
+            ORDER BY c.relname
+            """;
+
+    private static final String TRY_LOCK_TABLE = "SELECT pg_try_advisory_xact_lock(hashtext(?))";
+
+    private static final String TRY_LOCK_SESSION = "SELECT pg_try_advisory_lock(hashtext(?))";
+
+    private static final String UNLOCK_SESSION = "SELECT pg_advisory_unlock(hashtext(?))";
+
+    private static final String TABLE_EXISTS = "SELECT to_regclass(?) IS NOT NULL";
+
+    private static final String STREAM_TABLE = """
+            SELECT id, account_id, balance_version, authorization_balance, actual_balance, operation_id, created_at
+            FROM %s
+            ORDER BY account_id, created_at, id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<MonthlyTable> findMonthlyTables() {
+        return jdbcTemplate.query(FIND_MONTHLY_TABLES, (rs, rowNum) -> {
+            String name = rs.getString("relname");
+            return new MonthlyTable(name,
+                    YearMonth.parse(name.substring(TABLE_PREFIX.length()), TABLE_SUFFIX),
+                    rs.getBoolean("attached"));
+        });
+    }
+
+    public boolean tryLockTable(String tableName) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(TRY_LOCK_TABLE, Boolean.class, tableName));
+    }
+
+    public boolean runExclusively(String lockName, Runnable task) {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            if (!advisoryLock(connection, TRY_LOCK_SESSION, lockName)) {
+                return false;
+            }
+            try {
+                task.run();
+            } finally {
+                advisoryLock(connection, UNLOCK_SESSION, lockName);
+            }
+            return true;
+        }));
+    }
+
+    public boolean tableExists(String tableName) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(TABLE_EXISTS, Boolean.class, tableName));
+    }
+
+    public void streamTable(String tableName, int fetchSize, BiConsumer<Long, BalanceHistoryEntryDto> consumer) {
+        String sql = STREAM_TABLE.formatted(validated(tableName));
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, rs -> {
+            consumer.accept(rs.getLong("account_id"), BalanceHistoryEntryDto.builder()
+                    .id(rs.getLong("id"))
+                    .balanceVersion(rs.getLong("balance_version"))
+                    .authorizationBalance(rs.getBigDecimal("authorization_balance"))
+                    .actualBalance(rs.getBigDecimal("actual_balance"))
+                    .operationId(rs.getLong("operation_id"))
+                    .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+                    .build());
+        });
+    }
+
+    public void dropTable(String tableName) {
+        jdbcTemplate.execute("DROP TABLE " + validated(tableName));
+    }
+
+    private boolean advisoryLock(Connection connection, String sql, String lockName) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, lockName);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private String validated(String tableName) {
+        if (!MONTHLY_TABLE_NAME.matcher(tableName).matches()) {
+            throw new IllegalArgumentException("Not a monthly balance audit table: " + tableName);
+        }
+        return tableName;
+    }
+
+    public record MonthlyTable(String name, YearMonth month, boolean attached) {
+    }
+}
@@ -0,0 +1,52 @@
+package faang.school.accountservice.repository;
+
+import faang.school.accountservice.entity.BalanceAudit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class BalanceAuditBatchRepository {
+
+    private static final String INSERT_AUDIT = """
+            INSERT INTO balance_audit
+            (account_id, balance_version, authorization_balance, actual_balance, operation_id, created_at)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String PARK_AUDIT = """
+            INSERT INTO balance_audit_parked
+            (account_id, balance_version, authorization_balance, actual_balance, operation_id, created_at, error)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertAll(List<BalanceAudit> audits) {
+        jdbcTemplate.batchUpdate(INSERT_AUDIT, audits, audits.size(), (ps, audit) -> {
+            ps.setLong(1, audit.getAccount().getId());
+            ps.setLong(2, audit.getBalanceVersion());
+            ps.setBigDecimal(3, audit.getAuthorizationBalance());
+            ps.setBigDecimal(4, audit.getActualBalance());
+            ps.setLong(5, audit.getOperationId());
+            ps.setTimestamp(6, Timestamp.valueOf(audit.getCreatedAt()));
+        });
+    }
+
+    public void park(List<BalanceAudit> audits, String error) {
+        jdbcTemplate.batchUpdate(PARK_AUDIT, audits, audits.size(), (ps, audit) -> {
+            ps.setObject(1, audit.getAccount() == null ? null : audit.getAccount().getId(), Types.BIGINT);
+            ps.setObject(2, audit.getBalanceVersion(), Types.BIGINT);
+            ps.setBigDecimal(3, audit.getAuthorizationBalance());
+            ps.setBigDecimal(4, audit.getActualBalance());
+            ps.setObject(5, audit.getOperationId(), Types.BIGINT);
+            ps.setTimestamp(6, audit.getCreatedAt() == null ? null : Timestamp.valueOf(audit.getCreatedAt()));
+            ps.setString(7, error);
+        });
+    }
+}
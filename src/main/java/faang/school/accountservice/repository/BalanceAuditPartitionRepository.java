@@ -0,0 +1,60 @@
+package faang.school.accountservice.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.regex.Pattern;
+
+@Repository
+@RequiredArgsConstructor
+public class BalanceAuditPartitionRepository {
+
+    private static final Pattern MONTHLY_PARTITION_NAME = Pattern.compile("balance_audit_\\d{4}_\\d{2}");
+
+    private static final String CREATE_PARTITION = "SELECT create_balance_audit_partition(?)";
+
+    private static final String FIND_PARTITIONS = """
+            SELECT child.relname
+            FROM pg_inherits
+            JOIN pg_class parent ON pg_inherits.inhparent = parent.oid
+            JOIN pg_class child ON pg_inherits.inhrelid = child.oid
+            WHERE parent.relname = 'balance_audit'
+            ORDER BY child.relname
+            """;
+
+    private static final String IS_DETACH_PENDING = """
+            SELECT COALESCE(bool_or(i.inhdetachpending), FALSE)
+            FROM pg_inherits i
+            WHERE i.inhrelid = to_regclass(?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public String createMonthlyPartition(LocalDate monthStart) {
+        return jdbcTemplate.queryForObject(CREATE_PARTITION, String.class, Date.valueOf(monthStart));
+    }
+
+    public List<String> findMonthlyPartitions() {
+        return jdbcTemplate.queryForList(FIND_PARTITIONS, String.class).stream()
+                .filter(name -> MONTHLY_PARTITION_NAME.matcher(name).matches())
+                .toList();
+    }
+
+    // DETACH CONCURRENTLY cannot run inside a transaction block
+    @Transactional(propagation = Propagation.NEVER)
+    public void detachPartition(String partitionName) {
+        if (!MONTHLY_PARTITION_NAME.matcher(partitionName).matches()) {
+            throw new IllegalArgumentException("Not a monthly balance audit partition: " + partitionName);
+        }
+        boolean detachPending = Boolean.TRUE.equals(
+                jdbcTemplate.queryForObject(IS_DETACH_PENDING, Boolean.class, partitionName));
+        jdbcTemplate.execute("ALTER TABLE balance_audit DETACH PARTITION " + partitionName
+                + (detachPending ? " FINALIZE" : " CONCURRENTLY"));
+    }
+}
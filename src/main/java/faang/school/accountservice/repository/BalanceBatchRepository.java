@@ -0,0 +1,32 @@
+package faang.school.accountservice.repository;
+
+import faang.school.accountservice.entity.Balance;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+
+@Repository
+@RequiredArgsConstructor
+public class BalanceBatchRepository {
+
+    private static final String UPDATE_BALANCE = """
+            UPDATE balance
+            SET actual_balance = ?, authorization_balance = ?, version = ?, updated_at = ?
+            WHERE id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void updateAll(Collection<Balance> balances) {
+        jdbcTemplate.batchUpdate(UPDATE_BALANCE, balances, balances.size(), (ps, balance) -> {
+            ps.setBigDecimal(1, balance.getActualBalance());
+            ps.setBigDecimal(2, balance.getAuthorizationBalance());
+            ps.setLong(3, balance.getVersion());
+            ps.setTimestamp(4, Timestamp.valueOf(balance.getUpdatedAt()));
+            ps.setLong(5, balance.getId());
+        });
+    }
+}
@@ -0,0 +1,167 @@
+package faang.school.accountservice.repository;
+
+import faang.school.accountservice.entity.BalanceAudit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class BalanceDailyMinRepository {
+
+    private static final String UPSERT_DAY = """
+            INSERT INTO balance_daily_min (account_id, day, min_actual_balance, close_actual_balance)
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT (account_id, day) DO UPDATE
+            SET min_actual_balance = LEAST(balance_daily_min.min_actual_balance, EXCLUDED.min_actual_balance),
+                close_actual_balance = EXCLUDED.close_actual_balance
+            """;
+
+    private static final String FIND_MIN_FOR_PERIOD = """
+            SELECT MIN(min_actual_balance)
+            FROM balance_daily_min
+            WHERE account_id = ?
+            AND day >= ? AND day < ?
+            """;
+
+    private static final String BACKFILL_DAY = """
+            INSERT INTO balance_daily_min (account_id, day, min_actual_balance, close_actual_balance)
+            SELECT account_id,
+                   ?::date,
+                   MIN(actual_balance),
+                   (ARRAY_AGG(actual_balance ORDER BY created_at DESC, id DESC))[1]
+            FROM balance_audit
+            WHERE created_at >= ? AND created_at < ?
+            GROUP BY account_id
+            ON CONFLICT (account_id, day) DO UPDATE
+            SET min_actual_balance = LEAST(balance_daily_min.min_actual_balance, EXCLUDED.min_actual_balance),
+                close_actual_balance = EXCLUDED.close_actual_balance
+            """;
+
+    private static final String FIND_BACKFILL = """
+            SELECT backfilled_through, completed_at IS NOT NULL AS completed
+            FROM balance_daily_min_backfill
+            WHERE backfill_from = ?
+            """;
+
+    private static final String SAVE_BACKFILL_PROGRESS = """
+            INSERT INTO balance_daily_min_backfill (backfill_from, backfilled_through)
+            VALUES (?, ?)
+            ON CONFLICT (backfill_from) DO UPDATE
+            SET backfilled_through = EXCLUDED.backfilled_through
+            """;
+
+    private static final String COMPLETE_BACKFILL = """
+            INSERT INTO balance_daily_min_backfill (backfill_from, completed_at)
+            VALUES (?, CURRENT_TIMESTAMP)
+            ON CONFLICT (backfill_from) DO UPDATE
+            SET completed_at = EXCLUDED.completed_at
+            """;
+
+    private static final String TRY_LOCK_SESSION = "SELECT pg_try_advisory_lock(hashtext(?))";
+
+    private static final String UNLOCK_SESSION = "SELECT pg_advisory_unlock(hashtext(?))";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void recordAll(Collection<DailyBalance> dailyBalances) {
+        jdbcTemplate.batchUpdate(UPSERT_DAY, dailyBalances, dailyBalances.size(), (ps, dailyBalance) -> {
+            ps.setLong(1, dailyBalance.accountId());
+            ps.setDate(2, Date.valueOf(dailyBalance.day()));
+            ps.setBigDecimal(3, dailyBalance.minActualBalance());
+            ps.setBigDecimal(4, dailyBalance.closeActualBalance());
+        });
+    }
+
+    public Optional<BigDecimal> findMinimalActualBalance(long accountId, LocalDate fromDay, LocalDate toDayExclusive) {
+        return Optional.ofNullable(jdbcTemplate.queryForObject(FIND_MIN_FOR_PERIOD, BigDecimal.class,
+                accountId, Date.valueOf(fromDay), Date.valueOf(toDayExclusive)));
+    }
+
+    public int backfillDay(LocalDate day) {
+        return jdbcTemplate.update(BACKFILL_DAY, Date.valueOf(day),
+                Timestamp.valueOf(day.atStartOfDay()), Timestamp.valueOf(day.plusDays(1).atStartOfDay()));
+    }
+
+    public Optional<BackfillProgress> findBackfill(LocalDate backfillFrom) {
+        return jdbcTemplate.query(FIND_BACKFILL, (rs, rowNum) -> new BackfillProgress(
+                        Optional.ofNullable(rs.getDate("backfilled_through")).map(Date::toLocalDate).orElse(null),
+                        rs.getBoolean("completed")),
+                Date.valueOf(backfillFrom)).stream().findFirst();
+    }
+
+    public void saveBackfillProgress(LocalDate backfillFrom, LocalDate backfilledThrough) {
+        jdbcTemplate.update(SAVE_BACKFILL_PROGRESS, Date.valueOf(backfillFrom), Date.valueOf(backfilledThrough));
+    }
+
+    public void completeBackfill(LocalDate backfillFrom) {
+        jdbcTemplate.update(COMPLETE_BACKFILL, Date.valueOf(backfillFrom));
+    }
+
+    public boolean runExclusively(String lockName, Runnable task) {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            if (!advisoryLock(connection, TRY_LOCK_SESSION, lockName)) {
+                return false;
+            }
+            try {
+                task.run();
+            } finally {
+                advisoryLock(connection, UNLOCK_SESSION, lockName);
+            }
+            return true;
+        }));
+    }
+
+    private static boolean advisoryLock(Connection connection, String sql, String lockName) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, lockName);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
+        }
+    }
+
+    public record BackfillProgress(LocalDate backfilledThrough, boolean completed) {
+    }
+
+    public record DailyBalance(long accountId, LocalDate day, BigDecimal minActualBalance,
+                               BigDecimal closeActualBalance) {
+
+        public static DailyBalance of(BalanceAudit audit) {
+            return new DailyBalance(audit.getAccount().getId(), audit.getCreatedAt().toLocalDate(),
+                    audit.getActualBalance(), audit.getActualBalance());
+        }
+
+        public static List<DailyBalance> rollUp(Collection<BalanceAudit> audits) {
+            Map<DailyKey, DailyBalance> rollUp = new LinkedHashMap<>();
+            audits.stream()
+                    .map(DailyBalance::of)
+                    .forEach(daily -> rollUp.merge(new DailyKey(daily.accountId(), daily.day()), daily,
+                            DailyBalance::merge));
+            return List.copyOf(rollUp.values());
+        }
+
+        public DailyBalance merge(DailyBalance next) {
+            return new DailyBalance(accountId, day, minActualBalance.min(next.minActualBalance),
+                    next.closeActualBalance);
+        }
+    }
+
+    private record DailyKey(long accountId, LocalDate day) {
+    }
+}
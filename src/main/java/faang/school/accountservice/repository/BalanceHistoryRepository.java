@@ -0,0 +1,86 @@
+package faang.school.accountservice.repository;
+
+import faang.school.accountservice.dto.balance_history.BalanceHistoryEntryDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+@Repository
+@RequiredArgsConstructor
+public class BalanceHistoryRepository {
+
+    private static final String SELECT_COLUMNS = """
+            SELECT id, balance_version, authorization_balance, actual_balance, operation_id, created_at
+            FROM balance_audit
+            """;
+
+    private static final String FIND_FIRST_PAGE = SELECT_COLUMNS + """
+            WHERE account_id = ?
+            AND created_at >= ?
+            ORDER BY created_at DESC, id DESC
+            LIMIT ?
+            """;
+
+    private static final String FIND_PAGE_AFTER = SELECT_COLUMNS + """
+            WHERE account_id = ?
+            AND created_at >= ? AND created_at <= ?
+            AND (created_at, id) < (?, ?)
+            ORDER BY created_at DESC, id DESC
+            LIMIT ?
+            """;
+
+    private static final String STREAM_ALL = SELECT_COLUMNS + """
+            WHERE account_id = ?
+            AND created_at >= ?
+            ORDER BY created_at DESC, id DESC
+            """;
+
+    private static final RowMapper<BalanceHistoryEntryDto> ENTRY_MAPPER = (rs, rowNum) -> mapEntry(rs);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<BalanceHistoryEntryDto> findFirstPage(long accountId, LocalDateTime from, int limit) {
+        return jdbcTemplate.query(FIND_FIRST_PAGE, ENTRY_MAPPER, accountId, Timestamp.valueOf(from), limit);
+    }
+
+    public List<BalanceHistoryEntryDto> findPageAfter(long accountId, LocalDateTime from, LocalDateTime createdAt,
+                                                      long id, int limit) {
+        Timestamp cursorTime = Timestamp.valueOf(createdAt);
+        return jdbcTemplate.query(FIND_PAGE_AFTER, ENTRY_MAPPER,
+                accountId, Timestamp.valueOf(from), cursorTime, cursorTime, id, limit);
+    }
+
+    public void streamByAccountId(long accountId, LocalDateTime from, int fetchSize,
+                                  Consumer<BalanceHistoryEntryDto> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(STREAM_ALL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            statement.setLong(1, accountId);
+            statement.setTimestamp(2, Timestamp.valueOf(from));
+            return statement;
+        }, resultSet -> {
+            consumer.accept(mapEntry(resultSet));
+        });
+    }
+
+    private static BalanceHistoryEntryDto mapEntry(ResultSet rs) throws SQLException {
+        return BalanceHistoryEntryDto.builder()
+                .id(rs.getLong("id"))
+                .balanceVersion(rs.getLong("balance_version"))
+                .authorizationBalance(rs.getBigDecimal("authorization_balance"))
+                .actualBalance(rs.getBigDecimal("actual_balance"))
+                .operationId(rs.getLong("operation_id"))
+                .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+                .build();
+    }
+}
@@ -0,0 +1,93 @@
+package faang.school.accountservice.repository;
+
+import faang.school.accountservice.enums.HoldStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class BalanceHoldRepository {
+
+    private static final String CREATE_HOLD = """
+            INSERT INTO balance_hold (account_id, operation_id, amount, status, expires_at)
+            VALUES (?, ?, ?, 'OPEN', ?)
+            ON CONFLICT (account_id, operation_id) DO NOTHING
+            """;
+
+    private static final String CLOSE_OPEN_HOLD = """
+            UPDATE balance_hold
+            SET status = ?, updated_at = CURRENT_TIMESTAMP
+            WHERE account_id = ? AND operation_id = ? AND status = 'OPEN'
+            RETURNING amount
+            """;
+
+    private static final String FIND_STATUS = """
+            SELECT status
+            FROM balance_hold
+            WHERE account_id = ? AND operation_id = ?
+            """;
+
+    private static final String FIND_OPEN_HOLDS = """
+            SELECT account_id, operation_id, expires_at
+            FROM balance_hold
+            WHERE status = 'OPEN'
+            """;
+
+    private static final String FIND_EXPIRED_OPEN_HOLDS = """
+            SELECT account_id, operation_id, expires_at
+            FROM balance_hold
+            WHERE status = 'OPEN' AND expires_at < ?
+            ORDER BY expires_at
+            LIMIT ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public boolean create(long accountId, long operationId, BigDecimal amount, LocalDateTime expiresAt) {
+        return jdbcTemplate.update(CREATE_HOLD, accountId, operationId, amount, Timestamp.valueOf(expiresAt)) == 1;
+    }
+
+    public Optional<BigDecimal> closeOpenHold(long accountId, long operationId, HoldStatus status) {
+        return jdbcTemplate.queryForList(CLOSE_OPEN_HOLD, BigDecimal.class, status.name(), accountId, operationId)
+                .stream()
+                .findFirst();
+    }
+
+    public Optional<HoldStatus> findStatus(long accountId, long operationId) {
+        return jdbcTemplate.queryForList(FIND_STATUS, String.class, accountId, operationId).stream()
+                .map(HoldStatus::valueOf)
+                .findFirst();
+    }
+
+    public void forEachOpenHold(int fetchSize, OpenHoldConsumer consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(FIND_OPEN_HOLDS,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, resultSet -> {
+            consumer.accept(resultSet.getLong("account_id"), resultSet.getLong("operation_id"),
+                    resultSet.getTimestamp("expires_at").toLocalDateTime());
+        });
+    }
+
+    public void forEachExpiredOpenHold(LocalDateTime expiredBefore, int limit, OpenHoldConsumer consumer) {
+        jdbcTemplate.query(FIND_EXPIRED_OPEN_HOLDS, resultSet -> {
+            consumer.accept(resultSet.getLong("account_id"), resultSet.getLong("operation_id"),
+                    resultSet.getTimestamp("expires_at").toLocalDateTime());
+        }, Timestamp.valueOf(expiredBefore), limit);
+    }
+
+    @FunctionalInterface
+    public interface OpenHoldConsumer {
+        void accept(long accountId, long operationId, LocalDateTime expiresAt);
+    }
+}
@@ -0,0 +1,166 @@
+package faang.school.accountservice.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class BalanceLedgerRepository {
+
+    public static final long MIGRATED_TX_ID = 0;
+
+    private static final String APPEND_ENTRY = """
+            INSERT INTO balance_ledger (account_id, operation_id, actual_delta, authorization_delta)
+            VALUES (?, ?, ?, ?)
+            """;
+
+    private static final String SUM_TAIL = """
+            SELECT COALESCE(SUM(actual_delta), 0) AS actual_delta,
+                   COALESCE(SUM(authorization_delta), 0) AS authorization_delta,
+                   COUNT(*) AS entries
+            FROM balance_ledger
+            WHERE account_id = ? AND tx_id >= ?
+            """;
+
+    private static final String CURRENT_HORIZON = """
+            SELECT pg_snapshot_xmin(pg_current_snapshot())::text::bigint
+            """;
+
+    private static final String FIND_LOWEST_POSITION = """
+            SELECT COALESCE(MIN(ledger_position), 1) FROM balance
+            """;
+
+    private static final String FIND_PENDING_ACCOUNT_IDS = """
+            SELECT DISTINCT account_id
+            FROM balance_ledger
+            WHERE tx_id >= ? AND tx_id < ?
+            AND account_id > ?
+            ORDER BY account_id
+            LIMIT ?
+            """;
+
+    private static final String ADVANCE_SNAPSHOTS = """
+            WITH locked AS (
+                SELECT account_id, ledger_position, version, actual_balance, authorization_balance
+                FROM balance b
+                WHERE b.account_id BETWEEN ? AND ?
+                AND EXISTS (
+                    SELECT 1 FROM balance_ledger l
+                    WHERE l.account_id = b.account_id AND l.tx_id >= b.ledger_position AND l.tx_id < ?
+                )
+                FOR UPDATE
+            ), entries AS (
+                SELECT l.account_id,
+                       l.operation_id,
+                       s.version + ROW_NUMBER() OVER w AS balance_version,
+                       s.actual_balance + SUM(l.actual_delta) OVER w AS actual_balance,
+                       s.authorization_balance + SUM(l.authorization_delta) OVER w AS authorization_balance,
+                       MAX(l.created_at) OVER w AS created_at
+                FROM locked s
+                JOIN balance_ledger l ON l.account_id = s.account_id
+                    AND l.tx_id >= s.ledger_position
+                    AND l.tx_id < ?
+                WINDOW w AS (PARTITION BY l.account_id ORDER BY l.tx_id, l.id ROWS UNBOUNDED PRECEDING)
+            ), audits AS (
+                INSERT INTO balance_audit
+                (account_id, balance_version, authorization_balance, actual_balance, operation_id, created_at)
+                SELECT account_id, balance_version, authorization_balance, actual_balance, operation_id, created_at
+                FROM entries
+                ORDER BY account_id, balance_version
+                RETURNING account_id, balance_version, actual_balance, created_at
+            ), daily_min AS (
+                INSERT INTO balance_daily_min (account_id, day, min_actual_balance, close_actual_balance)
+                SELECT account_id,
+                       created_at::date,
+                       MIN(actual_balance),
+                       (ARRAY_AGG(actual_balance ORDER BY balance_version DESC))[1]
+                FROM audits
+                GROUP BY account_id, created_at::date
+                ON CONFLICT (account_id, day) DO UPDATE
+                SET min_actual_balance = LEAST(balance_daily_min.min_actual_balance, EXCLUDED.min_actual_balance),
+                    close_actual_balance = EXCLUDED.close_actual_balance
+            )
+            UPDATE balance b
+            SET actual_balance = e.actual_balance,
+                authorization_balance = e.authorization_balance,
+                version = e.balance_version,
+                ledger_position = ?,
+                updated_at = CURRENT_TIMESTAMP
+            FROM (
+                SELECT DISTINCT ON (account_id) account_id, balance_version, actual_balance, authorization_balance
+                FROM entries
+                ORDER BY account_id, balance_version DESC
+            ) e
+            WHERE b.account_id = e.account_id
+            """;
+
+    private static final String FIND_AUDITED_ACCOUNT_IDS = """
+            SELECT id
+            FROM account
+            WHERE id > ?
+            ORDER BY id
+            LIMIT ?
+            """;
+
+    private static final String MIGRATE_AUDITS = """
+            INSERT INTO balance_ledger (account_id, operation_id, actual_delta, authorization_delta, tx_id, created_at)
+            SELECT a.account_id,
+                   a.operation_id,
+                   a.actual_balance - COALESCE(LAG(a.actual_balance) OVER w, 0),
+                   a.authorization_balance - COALESCE(LAG(a.authorization_balance) OVER w, 0),
+                   ?,
+                   a.created_at
+            FROM balance_audit a
+            WHERE a.account_id BETWEEN ? AND ?
+            AND NOT EXISTS (
+                SELECT 1 FROM balance_ledger l
+                WHERE l.account_id = a.account_id AND l.tx_id = ?
+            )
+            WINDOW w AS (PARTITION BY a.account_id ORDER BY a.balance_version, a.created_at, a.id)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void append(long accountId, Long operationId, BigDecimal actualDelta, BigDecimal authorizationDelta) {
+        jdbcTemplate.update(APPEND_ENTRY, accountId, operationId, actualDelta, authorizationDelta);
+    }
+
+    public LedgerTail sumTail(long accountId, long fromPosition) {
+        return jdbcTemplate.queryForObject(SUM_TAIL, (rs, rowNum) -> new LedgerTail(
+                rs.getBigDecimal("actual_delta"),
+                rs.getBigDecimal("authorization_delta"),
+                rs.getInt("entries")), accountId, fromPosition);
+    }
+
+    public long currentHorizon() {
+        return jdbcTemplate.queryForObject(CURRENT_HORIZON, Long.class);
+    }
+
+    public long findLowestPosition() {
+        return jdbcTemplate.queryForObject(FIND_LOWEST_POSITION, Long.class);
+    }
+
+    public List<Long> findPendingAccountIds(long fromPosition, long horizon, long afterAccountId, int limit) {
+        return jdbcTemplate.queryForList(FIND_PENDING_ACCOUNT_IDS, Long.class,
+                fromPosition, horizon, afterAccountId, limit);
+    }
+
+    public int advanceSnapshots(long firstAccountId, long lastAccountId, long horizon) {
+        return jdbcTemplate.update(ADVANCE_SNAPSHOTS, firstAccountId, lastAccountId, horizon, horizon, horizon);
+    }
+
+    public List<Long> findAccountIdsAfter(long afterAccountId, int limit) {
+        return jdbcTemplate.queryForList(FIND_AUDITED_ACCOUNT_IDS, Long.class, afterAccountId, limit);
+    }
+
+    public int migrateAudits(long firstAccountId, long lastAccountId) {
+        return jdbcTemplate.update(MIGRATE_AUDITS, MIGRATED_TX_ID, firstAccountId, lastAccountId, MIGRATED_TX_ID);
+    }
+
+    public record LedgerTail(BigDecimal actualDelta, BigDecimal authorizationDelta, int entries) {
+    }
+}
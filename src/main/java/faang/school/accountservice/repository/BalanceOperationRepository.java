@@ -0,0 +1,40 @@
+package faang.school.accountservice.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class BalanceOperationRepository {
+
+    private static final String RECORD_OPERATION = """
+            INSERT INTO balance_operation (account_id, operation_id, payload_hash, result)
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT (account_id, operation_id) DO NOTHING
+            """;
+
+    private static final String FIND_OPERATION = """
+            SELECT payload_hash, result
+            FROM balance_operation
+            WHERE account_id = ? AND operation_id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public boolean record(long accountId, long operationId, int payloadHash, String result) {
+        return jdbcTemplate.update(RECORD_OPERATION, accountId, operationId, payloadHash, result) == 1;
+    }
+
+    public Optional<StoredOperation> find(long accountId, long operationId) {
+        return jdbcTemplate.query(FIND_OPERATION, (rs, rowNum) -> new StoredOperation(
+                        rs.getObject("payload_hash", Integer.class),
+                        rs.getString("result")),
+                accountId, operationId).stream().findFirst();
+    }
+
+    public record StoredOperation(Integer payloadHash, String result) {
+    }
+}
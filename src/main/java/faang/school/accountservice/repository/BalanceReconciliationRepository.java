@@ -0,0 +1,136 @@
+package faang.school.accountservice.repository;
+
+import faang.school.accountservice.enums.DiscrepancyType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+@Repository
+@RequiredArgsConstructor
+public class BalanceReconciliationRepository {
+
+    private static final String FIND_ACCOUNT_ID_BOUNDS = """
+            SELECT MIN(account_id) AS min_id, MAX(account_id) AS max_id FROM balance
+            """;
+
+    private static final String STREAM_RANGE = """
+            SELECT b.account_id,
+                   b.version,
+                   b.actual_balance + COALESCE(s.actual_balance, 0) AS actual_balance,
+                   b.authorization_balance,
+                   la.balance_version AS audit_version,
+                   la.actual_balance AS audit_actual_balance,
+                   la.authorization_balance AS audit_authorization_balance
+            FROM balance b
+            LEFT JOIN LATERAL (
+                SELECT SUM(actual_balance) AS actual_balance, MAX(updated_at) AS changed_at
+                FROM balance_stripe
+                WHERE account_id = b.account_id
+            ) s ON TRUE
+            LEFT JOIN LATERAL (
+                SELECT balance_version, actual_balance, authorization_balance
+                FROM balance_audit
+                WHERE account_id = b.account_id
+                ORDER BY created_at DESC, id DESC
+                LIMIT 1
+            ) la ON TRUE
+            WHERE b.account_id >= ? AND b.account_id < ?
+            AND b.updated_at < ?
+            AND COALESCE(s.changed_at, b.updated_at) < ?
+            """;
+
+    private static final String FIND_CHAIN_GAPS = """
+            SELECT account_id, COUNT(*) AS gaps
+            FROM (
+                SELECT account_id,
+                       balance_version - LAG(balance_version) OVER (PARTITION BY account_id ORDER BY balance_version) AS step
+                FROM balance_audit
+                WHERE account_id >= ? AND account_id < ?
+            ) chain
+            WHERE step > 1
+            GROUP BY account_id
+            """;
+
+    private static final String INSERT_DISCREPANCY = """
+            INSERT INTO balance_reconciliation_report (run_id, account_id, discrepancy, expected_value, actual_value)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Optional<AccountIdBounds> findAccountIdBounds() {
+        return jdbcTemplate.query(FIND_ACCOUNT_ID_BOUNDS, rs -> {
+            rs.next();
+            long minId = rs.getLong("min_id");
+            return rs.wasNull()
+                    ? Optional.<AccountIdBounds>empty()
+                    : Optional.of(new AccountIdBounds(minId, rs.getLong("max_id")));
+        });
+    }
+
+    public void streamRange(long fromAccountId, long toAccountIdExclusive, LocalDateTime changedBefore,
+                            int fetchSize, Consumer<ReconciledBalance> consumer) {
+        Timestamp cutoff = Timestamp.valueOf(changedBefore);
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(STREAM_RANGE,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            statement.setLong(1, fromAccountId);
+            statement.setLong(2, toAccountIdExclusive);
+            statement.setTimestamp(3, cutoff);
+            statement.setTimestamp(4, cutoff);
+            return statement;
+        }, rs -> {
+            long auditVersion = rs.getLong("audit_version");
+            consumer.accept(new ReconciledBalance(
+                    rs.getLong("account_id"),
+                    rs.getLong("version"),
+                    rs.getBigDecimal("actual_balance"),
+                    rs.getBigDecimal("authorization_balance"),
+                    rs.wasNull() ? null : auditVersion,
+                    rs.getBigDecimal("audit_actual_balance"),
+                    rs.getBigDecimal("audit_authorization_balance")));
+        });
+    }
+
+    public Map<Long, Integer> findChainGaps(long fromAccountId, long toAccountIdExclusive) {
+        Map<Long, Integer> gaps = new HashMap<>();
+        jdbcTemplate.query(FIND_CHAIN_GAPS, rs -> {
+            gaps.put(rs.getLong("account_id"), rs.getInt("gaps"));
+        }, fromAccountId, toAccountIdExclusive);
+        return gaps;
+    }
+
+    public void saveDiscrepancies(UUID runId, List<Discrepancy> discrepancies) {
+        jdbcTemplate.batchUpdate(INSERT_DISCREPANCY, discrepancies, discrepancies.size(), (ps, discrepancy) -> {
+            ps.setObject(1, runId);
+            ps.setLong(2, discrepancy.accountId());
+            ps.setString(3, discrepancy.type().name());
+            ps.setString(4, discrepancy.expected());
+            ps.setString(5, discrepancy.actual());
+        });
+    }
+
+    public record AccountIdBounds(long minAccountId, long maxAccountId) {
+    }
+
+    public record ReconciledBalance(long accountId, long version, BigDecimal actualBalance,
+                                    BigDecimal authorizationBalance, Long auditVersion,
+                                    BigDecimal auditActualBalance, BigDecimal auditAuthorizationBalance) {
+    }
+
+    public record Discrepancy(long accountId, DiscrepancyType type, String expected, String actual) {
+    }
+}
@@ -1,13 +1,75 @@
 package faang.school.accountservice.repository;
 
 import faang.school.accountservice.entity.Balance;
+import faang.school.accountservice.repository.projection.BalanceView;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface BalanceRepository extends JpaRepository<Balance, Long> {
 
     Optional<Balance> findByAccountId(Long accountId);
-}
\ No newline at end of file
+
+    boolean existsByAccountId(Long accountId);
+
+    @Transactional(readOnly = true)
+    @Query("""
+            SELECT b.id AS id, b.authorizationBalance AS authorizationBalance, b.actualBalance AS actualBalance,
+                   b.createdAt AS createdAt, b.updatedAt AS updatedAt, b.version AS version,
+                   a.id AS accountId, a.accountNumber AS accountNumber, a.type AS accountType,
+                   a.currency AS accountCurrency, a.status AS accountStatus,
+                   a.createdAt AS accountCreatedAt, a.updatedAt AS accountUpdatedAt
+            FROM Balance b
+            JOIN b.account a
+            WHERE a.id = :accountId
+            """)
+    Optional<BalanceView> findViewByAccountId(@Param("accountId") Long accountId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Balance b WHERE b.account.id = :accountId")
+    Optional<Balance> findByAccountIdForUpdate(@Param("accountId") Long accountId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Balance b JOIN FETCH b.account a WHERE a.id IN :accountIds ORDER BY a.id")
+    List<Balance> findAllByAccountIdsForUpdate(@Param("accountIds") Collection<Long> accountIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(nativeQuery = true, value = """
+            UPDATE balance
+            SET actual_balance = :actualBalance,
+                authorization_balance = :authorizationBalance,
+                updated_at = CURRENT_TIMESTAMP,
+                version = version + :postings
+            WHERE id = :balanceId
+            """)
+    int overwriteLockedBalance(@Param("balanceId") long balanceId,
+                               @Param("actualBalance") BigDecimal actualBalance,
+                               @Param("authorizationBalance") BigDecimal authorizationBalance,
+                               @Param("postings") int postings);
+
+    @Query(nativeQuery = true, value = """
+            UPDATE balance
+            SET actual_balance = actual_balance + :actualDelta,
+                authorization_balance = authorization_balance + :authorizationDelta,
+                updated_at = CURRENT_TIMESTAMP,
+                version = version + 1
+            WHERE account_id = :accountId
+            AND actual_balance + :actualDelta >= 0
+            AND authorization_balance + :authorizationDelta >= 0
+            RETURNING *
+            """)
+    Optional<Balance> applyDelta(@Param("accountId") long accountId,
+                                 @Param("actualDelta") BigDecimal actualDelta,
+                                 @Param("authorizationDelta") BigDecimal authorizationDelta);
+}
@@ -0,0 +1,66 @@
+package faang.school.accountservice.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+
+@Repository
+@RequiredArgsConstructor
+public class BalanceStripeRepository {
+
+    private static final String CREDIT_STRIPE = """
+            INSERT INTO balance_stripe (account_id, stripe, actual_balance)
+            VALUES (?, ?, ?)
+            ON CONFLICT (account_id, stripe) DO UPDATE
+            SET actual_balance = balance_stripe.actual_balance + EXCLUDED.actual_balance,
+                updated_at = CURRENT_TIMESTAMP
+            """;
+
+    private static final String SUM_STRIPES = """
+            SELECT COALESCE(SUM(actual_balance), 0)
+            FROM balance_stripe
+            WHERE account_id = ?
+            """;
+
+    private static final String CONSOLIDATE_STRIPES = """
+            WITH drained AS (
+                DELETE FROM balance_stripe
+                WHERE account_id = ?
+                RETURNING actual_balance
+            )
+            UPDATE balance
+            SET actual_balance = actual_balance + (SELECT COALESCE(SUM(actual_balance), 0) FROM drained),
+                updated_at = CURRENT_TIMESTAMP
+            WHERE account_id = ?
+            AND EXISTS (SELECT 1 FROM drained)
+            """;
+
+    private static final String DRAIN_STRIPES = """
+            WITH drained AS (
+                DELETE FROM balance_stripe
+                WHERE account_id = ?
+                RETURNING actual_balance
+            )
+            SELECT COALESCE(SUM(actual_balance), 0) FROM drained
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void credit(long accountId, int stripe, BigDecimal amount) {
+        jdbcTemplate.update(CREDIT_STRIPE, accountId, stripe, amount);
+    }
+
+    public BigDecimal sumByAccountId(long accountId) {
+        return jdbcTemplate.queryForObject(SUM_STRIPES, BigDecimal.class, accountId);
+    }
+
+    public int consolidate(long accountId) {
+        return jdbcTemplate.update(CONSOLIDATE_STRIPES, accountId, accountId);
+    }
+
+    public BigDecimal drain(long accountId) {
+        return jdbcTemplate.queryForObject(DRAIN_STRIPES, BigDecimal.class, accountId);
+    }
+}
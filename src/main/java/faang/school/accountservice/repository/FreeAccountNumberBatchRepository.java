@@ -0,0 +1,27 @@
+package faang.school.accountservice.repository;
+
+import faang.school.accountservice.enums.AccountType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class FreeAccountNumberBatchRepository {
+
+    private static final String INSERT_NUMBER = """
+            INSERT INTO free_account_numbers (account_type, account_number)
+            VALUES (?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertAll(AccountType accountType, List<String> accountNumbers) {
+        jdbcTemplate.batchUpdate(INSERT_NUMBER, accountNumbers, accountNumbers.size(), (ps, accountNumber) -> {
+            ps.setString(1, accountType.name());
+            ps.setString(2, accountNumber);
+        });
+    }
+}
@@ -3,10 +3,13 @@ package faang.school.accountservice.repository;
 import faang.school.accountservice.entity.FreeAccountNumber;
 import faang.school.accountservice.enums.AccountType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface FreeAccountNumbersRepository extends JpaRepository<FreeAccountNumber, Long> {
 
@@ -18,10 +21,39 @@ public interface FreeAccountNumbersRepository extends JpaRepository<FreeAccountN
                             FROM free_account_numbers
                             WHERE account_type = :accountType
                             LIMIT 1
+                            FOR UPDATE SKIP LOCKED
                         )
                         RETURNING fan.account_number, fan.account_type
                     """)
     FreeAccountNumber retrieveFreeAccountNumber(@Param("accountType") String accountType);
 
+    @Query(nativeQuery = true,
+            value = """
+                        DELETE FROM free_account_numbers fan
+                        WHERE fan.account_number IN (
+                            SELECT account_number
+                            FROM free_account_numbers
+                            WHERE account_type = :accountType
+                            LIMIT :amount
+                            FOR UPDATE SKIP LOCKED
+                        )
+                        RETURNING fan.account_number, fan.account_type
+                    """)
+    List<FreeAccountNumber> claimFreeAccountNumbers(@Param("accountType") String accountType,
+                                                    @Param("amount") int amount);
+
+    @Modifying
+    @Query(nativeQuery = true,
+            value = """
+                        INSERT INTO free_account_numbers (account_type, account_number)
+                        SELECT :accountType, :identity || lpad(seq::text, :paddedLength, '0')
+                        FROM generate_series(CAST(:fromSequence AS BIGINT), CAST(:toSequence AS BIGINT)) AS seq
+                    """)
+    int insertSequenceRange(@Param("accountType") String accountType,
+                            @Param("identity") String identity,
+                            @Param("paddedLength") int paddedLength,
+                            @Param("fromSequence") long fromSequence,
+                            @Param("toSequence") long toSequence);
+
     long countByAccountType(AccountType accountType);
 }
\ No newline at end of file
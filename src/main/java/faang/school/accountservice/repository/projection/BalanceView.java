@@ -0,0 +1,37 @@
+package faang.school.accountservice.repository.projection;
+
+import faang.school.accountservice.enums.AccountStatus;
+import faang.school.accountservice.enums.AccountType;
+import faang.school.accountservice.enums.Currency;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public interface BalanceView {
+
+    Long getId();
+
+    BigDecimal getAuthorizationBalance();
+
+    BigDecimal getActualBalance();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+
+    int getVersion();
+
+    Long getAccountId();
+
+    String getAccountNumber();
+
+    AccountType getAccountType();
+
+    Currency getAccountCurrency();
+
+    AccountStatus getAccountStatus();
+
+    LocalDateTime getAccountCreatedAt();
+
+    LocalDateTime getAccountUpdatedAt();
+}
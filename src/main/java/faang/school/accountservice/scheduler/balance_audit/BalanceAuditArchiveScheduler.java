@@ -0,0 +1,41 @@
+package faang.school.accountservice.scheduler.balance_audit;
+
+import faang.school.accountservice.properties.balance.BalanceArchiveProperties;
+import faang.school.accountservice.service.archive.BalanceAuditArchive;
+import faang.school.accountservice.service.archive.BalanceAuditArchiver;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BalanceAuditArchiveScheduler {
+
+    private final BalanceAuditArchiver balanceAuditArchiver;
+    private final BalanceAuditArchive balanceAuditArchive;
+    private final BalanceArchiveProperties archiveProperties;
+
+    @Async("taskExecutor")
+    @Scheduled(cron = "${account.balance.archive.cron}")
+    public void archiveExpiredAudits() {
+        if (!archiveProperties.isEnabled()) {
+            return;
+        }
+        int archived = balanceAuditArchiver.archiveExpiredMonths(YearMonth.now());
+        log.info("Balance audit archiving finished, {} monthly tables archived", archived);
+    }
+
+    @Scheduled(fixedDelayString = "${account.balance.archive.refresh-interval}")
+    public void refreshSegments() {
+        try {
+            balanceAuditArchive.refreshSegments();
+        } catch (RuntimeException e) {
+            log.error("Failed to refresh balance audit segments", e);
+        }
+    }
+}
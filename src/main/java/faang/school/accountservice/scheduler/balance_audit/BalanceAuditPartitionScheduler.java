@@ -0,0 +1,26 @@
+package faang.school.accountservice.scheduler.balance_audit;
+
+import faang.school.accountservice.service.BalanceAuditPartitionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BalanceAuditPartitionScheduler {
+
+    private final BalanceAuditPartitionService partitionService;
+
+    @Scheduled(cron = "${account.balance.audit-partitions.cron}")
+    public void maintainPartitions() {
+        YearMonth currentMonth = YearMonth.now();
+        log.info("Starting balance audit partition maintenance for {}", currentMonth);
+        partitionService.createFuturePartitions(currentMonth);
+        partitionService.detachExpiredPartitions(currentMonth);
+        log.info("Balance audit partition maintenance finished");
+    }
+}
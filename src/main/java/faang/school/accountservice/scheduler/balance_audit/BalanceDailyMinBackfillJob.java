@@ -0,0 +1,31 @@
+package faang.school.accountservice.scheduler.balance_audit;
+
+import faang.school.accountservice.properties.balance.BalanceDailyMinProperties;
+import faang.school.accountservice.service.BalanceDailyMinBackfillService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BalanceDailyMinBackfillJob {
+
+    private final BalanceDailyMinBackfillService backfillService;
+    private final BalanceDailyMinProperties dailyMinProperties;
+
+    @Async("taskExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (!dailyMinProperties.isBackfillEnabled() || dailyMinProperties.getBackfillFrom() == null) {
+            return;
+        }
+        log.info("Starting balance daily minimum backfill from {}", dailyMinProperties.getBackfillFrom());
+        backfillService.backfillOnce(dailyMinProperties.getBackfillFrom(), LocalDate.now());
+    }
+}
@@ -0,0 +1,88 @@
+package faang.school.accountservice.scheduler.balance_hold;
+
+import faang.school.accountservice.properties.balance.BalanceHoldProperties;
+import faang.school.accountservice.service.hold.BalanceHoldExpiryWheel;
+import faang.school.accountservice.service.hold.BalanceHoldExpiryWheel.HoldKey;
+import faang.school.accountservice.service.hold.BalanceHoldService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+public class BalanceHoldExpiryScheduler {
+
+    private final BalanceHoldService balanceHoldService;
+    private final BalanceHoldExpiryWheel expiryWheel;
+    private final BalanceHoldProperties holdProperties;
+    private final Counter expiredHolds;
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "balance-hold-expiry");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public BalanceHoldExpiryScheduler(BalanceHoldService balanceHoldService,
+                                      BalanceHoldExpiryWheel expiryWheel,
+                                      BalanceHoldProperties holdProperties,
+                                      MeterRegistry meterRegistry) {
+        this.balanceHoldService = balanceHoldService;
+        this.expiryWheel = expiryWheel;
+        this.holdProperties = holdProperties;
+        this.expiredHolds = meterRegistry.counter("balance.holds.expired");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        balanceHoldService.loadOpenHolds();
+        long tickMillis = holdProperties.getTick().toMillis();
+        ticker.scheduleWithFixedDelay(this::expireDueHolds, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        ticker.shutdownNow();
+    }
+
+    public void expireDueHolds() {
+        expire(expiryWheel.pollExpired(System.currentTimeMillis()));
+    }
+
+    @Scheduled(fixedDelayString = "${account.balance.holds.sweep-interval}")
+    public void sweepOrphanedHolds() {
+        try {
+            List<HoldKey> orphanedHolds = balanceHoldService.findOrphanedHolds();
+            if (!orphanedHolds.isEmpty()) {
+                log.warn("{} expired holds were missed by the expiry wheels, expiring them now", orphanedHolds.size());
+                expire(orphanedHolds);
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to sweep orphaned holds", e);
+        }
+    }
+
+    private void expire(List<HoldKey> holds) {
+        for (HoldKey hold : holds) {
+            try {
+                if (balanceHoldService.expireHold(hold.accountId(), hold.operationId())) {
+                    expiredHolds.increment();
+                }
+            } catch (RuntimeException e) {
+                log.error("Failed to expire hold {} of account {}, retrying later",
+                        hold.operationId(), hold.accountId(), e);
+                expiryWheel.schedule(hold, LocalDateTime.now().plus(holdProperties.getExpiryRetryDelay()));
+            }
+        }
+    }
+}
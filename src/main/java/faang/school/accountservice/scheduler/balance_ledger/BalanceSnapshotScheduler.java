@@ -0,0 +1,37 @@
+package faang.school.accountservice.scheduler.balance_ledger;
+
+import faang.school.accountservice.properties.balance.BalanceLedgerProperties;
+import faang.school.accountservice.service.BalanceSnapshotService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BalanceSnapshotScheduler {
+
+    private final BalanceSnapshotService balanceSnapshotService;
+    private final BalanceLedgerProperties ledgerProperties;
+
+    @Scheduled(cron = "${account.balance.ledger.snapshot-cron}")
+    public void advanceSnapshots() {
+        try {
+            balanceSnapshotService.advanceSnapshots();
+        } catch (RuntimeException e) {
+            log.error("Failed to advance balance snapshots", e);
+        }
+    }
+
+    @Async("taskExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateAuditsOnStartup() {
+        if (ledgerProperties.isMigrateAuditsOnStartup()) {
+            balanceSnapshotService.migrateAudits();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package faang.school.accountservice.scheduler.balance_reconciliation;
+
+import faang.school.accountservice.properties.balance.BalanceReconciliationProperties;
+import faang.school.accountservice.service.BalanceReconciliationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BalanceReconciliationScheduler {
+
+    private final BalanceReconciliationService balanceReconciliationService;
+    private final BalanceReconciliationProperties reconciliationProperties;
+
+    @Async("taskExecutor")
+    @Scheduled(cron = "${account.balance.reconciliation.cron}")
+    public void reconcileBalances() {
+        if (!reconciliationProperties.isEnabled()) {
+            return;
+        }
+        try {
+            balanceReconciliationService.reconcile();
+        } catch (RuntimeException e) {
+            log.error("Balance reconciliation failed", e);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package faang.school.accountservice.scheduler.free_account_number;
 
 import faang.school.accountservice.properties.FreeAccountNumbersGenerationProperties;
+import faang.school.accountservice.service.FreeAccountNumberReplenisher;
 import faang.school.accountservice.service.FreeAccountNumbersService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -12,9 +13,15 @@ public class FreeAccountNumberScheduler {
 
     private final FreeAccountNumbersGenerationProperties numbersProperties;
     private final FreeAccountNumbersService freeAccountNumbersService;
+    private final FreeAccountNumberReplenisher freeAccountNumberReplenisher;
 
     @Scheduled(cron = "${account.number.generation.cron}")
     public void ensureFreeAccountNumbers() {
         numbersProperties.getMaxAmountByType().forEach(freeAccountNumbersService::ensureFreeAccountNumbers);
     }
-}
\ No newline at end of file
+
+    @Scheduled(fixedDelayString = "${account.number.replenishment.tick}")
+    public void replenishByConsumptionRate() {
+        freeAccountNumberReplenisher.tick();
+    }
+}
@@ -0,0 +1,154 @@
+package faang.school.accountservice.service;
+
+import faang.school.accountservice.entity.AccountNumberSequence;
+import faang.school.accountservice.enums.AccountType;
+import faang.school.accountservice.properties.AccountNumberBlockProperties;
+import faang.school.accountservice.repository.AccountNumbersSequenceRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Unused values of a leased block are lost on shutdown, so numbers are unique but not gapless
+@Slf4j
+@Component
+public class AccountNumberBlockAllocator {
+
+    private final AccountNumbersSequenceRepository accountNumbersSequenceRepository;
+    private final AccountNumberBuilder accountNumberBuilder;
+    private final AccountNumberBlockProperties blockProperties;
+    private final TransactionTemplate leaseTransaction;
+    private final Executor refillExecutor;
+    private final Map<AccountType, Lease> leases = new EnumMap<>(AccountType.class);
+    private final Counter asyncLeases;
+    private final Counter syncLeases;
+
+    public AccountNumberBlockAllocator(AccountNumbersSequenceRepository accountNumbersSequenceRepository,
+                                       AccountNumberBuilder accountNumberBuilder,
+                                       AccountNumberBlockProperties blockProperties,
+                                       PlatformTransactionManager transactionManager,
+                                       @Qualifier("taskExecutor") Executor refillExecutor,
+                                       MeterRegistry meterRegistry) {
+        this.accountNumbersSequenceRepository = accountNumbersSequenceRepository;
+        this.accountNumberBuilder = accountNumberBuilder;
+        this.blockProperties = blockProperties;
+        this.leaseTransaction = new TransactionTemplate(transactionManager);
+        this.leaseTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.refillExecutor = refillExecutor;
+        for (AccountType accountType : AccountType.values()) {
+            leases.put(accountType, new Lease(accountType));
+        }
+        this.asyncLeases = meterRegistry.counter("account.number.blocks.leased", "mode", "async");
+        this.syncLeases = meterRegistry.counter("account.number.blocks.leased", "mode", "sync");
+    }
+
+    public String nextAccountNumber(AccountType accountType) {
+        return accountNumberBuilder.buildAccountNumber(accountType, nextSequence(accountType));
+    }
+
+    long nextSequence(AccountType accountType) {
+        Lease lease = leases.get(accountType);
+        while (true) {
+            Block block = lease.current;
+            long sequence = block.cursor.getAndIncrement();
+            if (sequence <= block.last) {
+                if (block.last - sequence <= blockProperties.getLowWatermark()) {
+                    lease.refillInBackground();
+                }
+                return sequence;
+            }
+            lease.advance(block);
+        }
+    }
+
+    private Block leaseBlock(AccountType accountType) {
+        long blockSize = blockProperties.getBlockSize();
+        AccountNumberSequence sequence = leaseTransaction.execute(status ->
+                accountNumbersSequenceRepository.incrementCounter(accountType.name(), blockSize));
+        long last = sequence.getCurrentSequenceValue();
+        accountNumberBuilder.validateNumberSequenceIsNotExceeded(accountType, last);
+        log.debug("Leased account number block [{}, {}] for account type {}", last - blockSize + 1, last, accountType);
+        return new Block(last - blockSize + 1, last);
+    }
+
+    private final class Lease {
+
+        private final AccountType accountType;
+        private final AtomicBoolean refilling = new AtomicBoolean();
+        private volatile Block current = Block.EXHAUSTED;
+        private volatile Block next;
+
+        private Lease(AccountType accountType) {
+            this.accountType = accountType;
+        }
+
+        private synchronized void advance(Block exhausted) {
+            if (current != exhausted) {
+                return;
+            }
+            Block prefetched = next;
+            if (prefetched != null) {
+                next = null;
+                current = prefetched;
+                return;
+            }
+            current = leaseBlock(accountType);
+            syncLeases.increment();
+        }
+
+        private void refillInBackground() {
+            if (next != null || !refilling.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                refillExecutor.execute(this::refill);
+            } catch (RejectedExecutionException e) {
+                refilling.set(false);
+                log.warn("Background lease of account numbers for {} was rejected", accountType);
+            }
+        }
+
+        private void refill() {
+            try {
+                Block block = leaseBlock(accountType);
+                asyncLeases.increment();
+                synchronized (this) {
+                    if (next == null) {
+                        next = block;
+                    } else {
+                        log.warn("Leased account number block for {} is discarded, one is already prefetched",
+                                accountType);
+                    }
+                }
+            } catch (RuntimeException e) {
+                log.error("Failed to lease account numbers for {} in background", accountType, e);
+            } finally {
+                refilling.set(false);
+            }
+        }
+    }
+
+    private static final class Block {
+
+        private static final Block EXHAUSTED = new Block(1, 0);
+
+        private final AtomicLong cursor;
+        private final long last;
+
+        private Block(long first, long last) {
+            this.cursor = new AtomicLong(first);
+            this.last = last;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package faang.school.accountservice.service;
+
+import faang.school.accountservice.enums.AccountType;
+import faang.school.accountservice.properties.AccountNumberFormatProperties;
+import faang.school.accountservice.properties.AccountTypeIdentityProperties;
+import faang.school.accountservice.properties.AccountTypeLengthProperties;
+import faang.school.accountservice.util.AccountNumberCodec;
+import faang.school.accountservice.validator.FreeAccountNumberValidator;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@Component
+public class AccountNumberBuilder {
+
+    private final AccountTypeIdentityProperties identityProp;
+    private final AccountTypeLengthProperties lengthProp;
+    private final FreeAccountNumberValidator freeAccountNumberValidator;
+    private final Map<AccountType, AccountNumberCodec> codecs = new EnumMap<>(AccountType.class);
+
+    public AccountNumberBuilder(AccountTypeIdentityProperties identityProp,
+                                AccountTypeLengthProperties lengthProp,
+                                AccountNumberFormatProperties formatProp,
+                                FreeAccountNumberValidator freeAccountNumberValidator) {
+        this.identityProp = identityProp;
+        this.lengthProp = lengthProp;
+        this.freeAccountNumberValidator = freeAccountNumberValidator;
+        for (AccountType accountType : AccountType.values()) {
+            codecs.put(accountType, new AccountNumberCodec(getNumberIdentityByAccountType(accountType),
+                    getLengthByAccountType(accountType), formatProp.getCheckDigit()));
+        }
+    }
+
+    public String buildAccountNumber(AccountType accountType, long uniqueNumber) {
+        return codecs.get(accountType).format(uniqueNumber);
+    }
+
+    public AccountNumberCodec getCodec(AccountType accountType) {
+        return codecs.get(accountType);
+    }
+
+    public void validateNumberSequenceIsNotExceeded(AccountType accountType, long numberSequence) {
+        AccountNumberCodec codec = codecs.get(accountType);
+        freeAccountNumberValidator.validateNumberSequenceIsNotExceeded(numberSequence,
+                codec.length() - codec.checkDigit().getLength(), getNumberIdentityByAccountType(accountType));
+    }
+
+    public int getLengthByAccountType(AccountType accountType) {
+        return switch (accountType) {
+            case INDIVIDUAL -> lengthProp.getIndividual();
+            case LEGAL -> lengthProp.getLegal();
+            case SAVINGS -> lengthProp.getSavings();
+            case DEBIT -> lengthProp.getDebit();
+        };
+    }
+
+    public int getNumberIdentityByAccountType(AccountType accountType) {
+        return switch (accountType) {
+            case INDIVIDUAL -> identityProp.getIndividual();
+            case LEGAL -> identityProp.getLegal();
+            case SAVINGS -> identityProp.getSavings();
+            case DEBIT -> identityProp.getDebit();
+        };
+    }
+}
@@ -0,0 +1,222 @@
+package faang.school.accountservice.service;
+
+import faang.school.accountservice.entity.BalanceAudit;
+import faang.school.accountservice.properties.balance.BalanceAuditBufferProperties;
+import faang.school.accountservice.repository.BalanceAuditBatchRepository;
+import faang.school.accountservice.repository.BalanceDailyMinRepository;
+import faang.school.accountservice.repository.BalanceDailyMinRepository.DailyBalance;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+public class BalanceAuditBuffer {
+
+    private final BalanceAuditBatchRepository balanceAuditBatchRepository;
+    private final BalanceDailyMinRepository balanceDailyMinRepository;
+    private final BlockingQueue<BalanceAudit> queue;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+    private final BlockingQueue<BalanceAudit> unwritten;
+    private final Timer flushTimer;
+    private final Counter directWrites;
+    private final Counter parkedAudits;
+    private final Counter droppedAudits;
+    private volatile boolean running;
+    private Thread writer;
+
+    public BalanceAuditBuffer(BalanceAuditBatchRepository balanceAuditBatchRepository,
+                              BalanceDailyMinRepository balanceDailyMinRepository,
+                              BalanceAuditBufferProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.balanceAuditBatchRepository = balanceAuditBatchRepository;
+        this.balanceDailyMinRepository = balanceDailyMinRepository;
+        this.queue = new ArrayBlockingQueue<>(properties.getCapacity());
+        this.unwritten = new ArrayBlockingQueue<>(properties.getUnwrittenCapacity());
+        this.batchSize = properties.getBatchSize();
+        this.flushIntervalNanos = properties.getFlushInterval().toNanos();
+        this.maxAttempts = Math.max(1, properties.getMaxAttempts());
+        this.retryBackoffMillis = properties.getRetryBackoff().toMillis();
+        this.flushTimer = meterRegistry.timer("balance.audit.buffer.flush");
+        this.directWrites = meterRegistry.counter("balance.audit.buffer.direct.writes");
+        this.parkedAudits = meterRegistry.counter("balance.audit.buffer.parked");
+        this.droppedAudits = meterRegistry.counter("balance.audit.buffer.dropped");
+        meterRegistry.gaugeCollectionSize("balance.audit.buffer.depth", List.of(), queue);
+        meterRegistry.gaugeCollectionSize("balance.audit.buffer.unwritten", List.of(), unwritten);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = new Thread(this::writeLoop, "balance-audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writer.interrupt();
+        writer.join();
+        List<BalanceAudit> remaining = new ArrayList<>();
+        unwritten.drainTo(remaining);
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            log.info("Writing {} buffered balance audits before shutdown", remaining.size());
+        }
+        for (int from = 0; from < remaining.size(); from += batchSize) {
+            flush(remaining.subList(from, Math.min(from + batchSize, remaining.size())));
+        }
+        if (!unwritten.isEmpty()) {
+            log.error("{} balance audits could be neither written nor parked before shutdown, operation ids: {}",
+                    unwritten.size(), unwritten.stream().map(BalanceAudit::getOperationId).toList());
+        }
+    }
+
+    public void enqueueAfterCommit(BalanceAudit audit) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(audit);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueue(audit);
+            }
+        });
+    }
+
+    private void enqueue(BalanceAudit audit) {
+        if (!running) {
+            flush(List.of(audit));
+            return;
+        }
+        if (!queue.offer(audit)) {
+            log.warn("Balance audit buffer is full, writing audit of account {} directly", audit.getAccount().getId());
+            directWrites.increment();
+            flush(List.of(audit));
+        }
+    }
+
+    private void writeLoop() {
+        List<BalanceAudit> batch = new ArrayList<>(batchSize);
+        while (running) {
+            BalanceAudit retried;
+            while (batch.size() < batchSize && (retried = unwritten.poll()) != null) {
+                batch.add(retried);
+            }
+            try {
+                if (batch.size() < batchSize) {
+                    collectBatch(batch);
+                }
+            } catch (InterruptedException e) {
+                queue.drainTo(batch, batchSize - batch.size());
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+        log.info("Balance audit writer stopped");
+    }
+
+    private void collectBatch(List<BalanceAudit> batch) throws InterruptedException {
+        BalanceAudit first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + flushIntervalNanos;
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                return;
+            }
+            BalanceAudit next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<BalanceAudit> batch) {
+        flushTimer.record(() -> {
+            RuntimeException failure = insertWithRetry(batch);
+            if (failure == null) {
+                log.debug("{} buffered balance audits are flushed", batch.size());
+                return;
+            }
+            log.warn("Failed to flush {} balance audits after {} attempts, writing them one by one",
+                    batch.size(), maxAttempts, failure);
+            batch.forEach(this::insertOrPark);
+        });
+    }
+
+    private RuntimeException insertWithRetry(List<BalanceAudit> batch) {
+        long backoffMillis = retryBackoffMillis;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                write(batch);
+                return null;
+            } catch (RuntimeException e) {
+                if (attempt >= maxAttempts || !sleep(backoffMillis)) {
+                    return e;
+                }
+                backoffMillis *= 2;
+            }
+        }
+    }
+
+    private void insertOrPark(BalanceAudit audit) {
+        try {
+            write(List.of(audit));
+        } catch (RuntimeException insertFailure) {
+            try {
+                balanceAuditBatchRepository.park(List.of(audit), insertFailure.getMessage());
+                parkedAudits.increment();
+                log.error("Balance audit of operation {} is parked", audit.getOperationId(), insertFailure);
+            } catch (RuntimeException parkFailure) {
+                log.error("Failed to park balance audit of operation {}, keeping it for the next flush",
+                        audit.getOperationId(), parkFailure);
+                if (!unwritten.offer(audit)) {
+                    droppedAudits.increment();
+                    log.error("Unwritten balance audit backlog is full, dropping audit of operation {}",
+                            audit.getOperationId());
+                }
+            }
+        }
+    }
+
+    // The rollup upsert is idempotent, so a retried batch can safely record it again
+    private void write(List<BalanceAudit> batch) {
+        balanceDailyMinRepository.recordAll(DailyBalance.rollUp(batch));
+        balanceAuditBatchRepository.insertAll(batch);
+    }
+
+    private boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
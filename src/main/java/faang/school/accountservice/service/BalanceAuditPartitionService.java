@@ -0,0 +1,49 @@
+package faang.school.accountservice.service;
+
+import faang.school.accountservice.properties.balance.BalanceAuditPartitionProperties;
+import faang.school.accountservice.repository.BalanceAuditPartitionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BalanceAuditPartitionService {
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final String PARTITION_PREFIX = "balance_audit_";
+
+    private final BalanceAuditPartitionRepository partitionRepository;
+    private final BalanceAuditPartitionProperties partitionProperties;
+
+    public void createFuturePartitions(YearMonth currentMonth) {
+        for (int i = 0; i <= partitionProperties.getMonthsAhead(); i++) {
+            LocalDate monthStart = currentMonth.plusMonths(i).atDay(1);
+            String partitionName = partitionRepository.createMonthlyPartition(monthStart);
+            log.debug("Balance audit partition {} is ensured", partitionName);
+        }
+    }
+
+    public void detachExpiredPartitions(YearMonth currentMonth) {
+        if (partitionProperties.getRetentionMonths() <= 0) {
+            return;
+        }
+        YearMonth oldestRetainedMonth = currentMonth.minusMonths(partitionProperties.getRetentionMonths());
+        partitionRepository.findMonthlyPartitions().stream()
+                .filter(partitionName -> partitionMonth(partitionName).isBefore(oldestRetainedMonth))
+                .forEach(partitionName -> {
+                    partitionRepository.detachPartition(partitionName);
+                    log.info("Balance audit partition {} is detached and kept as a standalone archive table",
+                            partitionName);
+                });
+    }
+
+    private YearMonth partitionMonth(String partitionName) {
+        return YearMonth.parse(partitionName.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+    }
+}
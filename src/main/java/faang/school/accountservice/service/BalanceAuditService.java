@@ -2,13 +2,18 @@ package faang.school.accountservice.service;
 
 import faang.school.accountservice.entity.Balance;
 import faang.school.accountservice.entity.BalanceAudit;
+import faang.school.accountservice.repository.BalanceAuditBatchRepository;
 import faang.school.accountservice.repository.BalanceAuditRepository;
+import faang.school.accountservice.repository.BalanceDailyMinRepository;
+import faang.school.accountservice.repository.BalanceDailyMinRepository.DailyBalance;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Slf4j
@@ -17,9 +22,37 @@ import java.util.Optional;
 public class BalanceAuditService {
 
     private final BalanceAuditRepository balanceAuditRepository;
+    private final BalanceAuditBatchRepository balanceAuditBatchRepository;
+    private final BalanceAuditBuffer balanceAuditBuffer;
+    private final BalanceDailyMinRepository balanceDailyMinRepository;
 
     public void createAudit(Balance balance, Long operationId) {
-        BalanceAudit audit = BalanceAudit.builder()
+        BalanceAudit audit = buildAudit(balance, operationId);
+        balanceAuditRepository.save(audit);
+        balanceDailyMinRepository.recordAll(List.of(DailyBalance.of(audit)));
+        log.info("Balance audit for account {} with version {} is created",
+                balance.getAccount().getId(), balance.getVersion());
+    }
+
+    public void enqueueAudit(Balance balance, Long operationId) {
+        balanceAuditBuffer.enqueueAfterCommit(buildAudit(balance, operationId));
+    }
+
+    public void createAudits(List<BalanceAudit> audits) {
+        if (audits.isEmpty()) {
+            return;
+        }
+        balanceAuditBatchRepository.insertAll(audits);
+        balanceDailyMinRepository.recordAll(DailyBalance.rollUp(audits));
+        log.info("{} balance audits are created in batch", audits.size());
+    }
+
+    public BalanceAudit buildAudit(Balance balance, Long operationId) {
+        if (operationId == null) {
+            throw new IllegalArgumentException("Balance audit of account %d requires an operation id"
+                    .formatted(balance.getAccount().getId()));
+        }
+        return BalanceAudit.builder()
                 .account(balance.getAccount())
                 .balanceVersion((long) balance.getVersion())
                 .authorizationBalance(balance.getAuthorizationBalance())
@@ -27,9 +60,6 @@ public class BalanceAuditService {
                 .operationId(operationId)
                 .createdAt(LocalDateTime.now())
                 .build();
-        balanceAuditRepository.save(audit);
-        log.info("Balance audit for account {} with version {} is created",
-                balance.getAccount().getId(), balance.getVersion());
     }
 
     public Optional<BigDecimal> findMinimalActualBalanceByAccountAndPeriod(
@@ -37,7 +67,10 @@ public class BalanceAuditService {
             LocalDateTime startDate,
             LocalDateTime endDate
     ) {
-        return balanceAuditRepository.findMinimalActualBalanceByAccountAndPeriod(accountId, startDate, endDate);
+        LocalDate toDayExclusive = endDate.toLocalDate().isAfter(startDate.toLocalDate())
+                ? endDate.toLocalDate()
+                : startDate.toLocalDate().plusDays(1);
+        return balanceDailyMinRepository.findMinimalActualBalance(accountId, startDate.toLocalDate(), toDayExclusive);
     }
 
     public void deleteAudit(long auditId) {
@@ -0,0 +1,127 @@
+package faang.school.accountservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import faang.school.accountservice.dto.BalanceDto;
+import faang.school.accountservice.properties.balance.BalanceCacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+
+@Slf4j
+@Service
+public class BalanceCacheService {
+
+    private static final String KEY_PREFIX = "balance:";
+    private static final String VERSION_FIELD = "version";
+    private static final String PAYLOAD_FIELD = "payload";
+    private static final RedisScript<Long> PUT_IF_NEWER = new DefaultRedisScript<>("""
+            local current = redis.call('HGET', KEYS[1], 'version')
+            if current and tonumber(current) >= tonumber(ARGV[1]) then
+                return 0
+            end
+            redis.call('HSET', KEYS[1], 'version', ARGV[1], 'payload', ARGV[2])
+            redis.call('PEXPIRE', KEYS[1], ARGV[3])
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final BalanceCacheProperties cacheProperties;
+    private final Counter hits;
+    private final Counter misses;
+
+    public BalanceCacheService(StringRedisTemplate stringRedisTemplate,
+                               ObjectMapper objectMapper,
+                               BalanceCacheProperties cacheProperties,
+                               MeterRegistry meterRegistry) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+        this.cacheProperties = cacheProperties;
+        this.hits = meterRegistry.counter("balance.cache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("balance.cache.requests", "result", "miss");
+    }
+
+    public boolean isEnabled() {
+        return cacheProperties.isEnabled();
+    }
+
+    public Optional<BalanceDto> get(long accountId) {
+        if (!cacheProperties.isEnabled()) {
+            return Optional.empty();
+        }
+        try {
+            Object payload = stringRedisTemplate.opsForHash().get(key(accountId), PAYLOAD_FIELD);
+            if (payload == null) {
+                misses.increment();
+                return Optional.empty();
+            }
+            hits.increment();
+            return Optional.of(objectMapper.readValue(payload.toString(), BalanceDto.class));
+        } catch (RuntimeException | JsonProcessingException e) {
+            log.warn("Failed to read cached balance for account {}", accountId, e);
+            misses.increment();
+            return Optional.empty();
+        }
+    }
+
+    public void put(long accountId, BalanceDto balance) {
+        if (!cacheProperties.isEnabled()) {
+            return;
+        }
+        try {
+            stringRedisTemplate.execute(PUT_IF_NEWER, List.of(key(accountId)),
+                    String.valueOf(balance.getVersion()),
+                    objectMapper.writeValueAsString(balance),
+                    String.valueOf(cacheProperties.getTtl().toMillis()));
+        } catch (RuntimeException | JsonProcessingException e) {
+            log.warn("Failed to cache balance version {} for account {}", balance.getVersion(), accountId, e);
+            evict(accountId);
+        }
+    }
+
+    public void putAfterCommit(long accountId, BalanceDto balance) {
+        if (!cacheProperties.isEnabled()) {
+            return;
+        }
+        afterCommit(() -> put(accountId, balance));
+    }
+
+    public void evictAfterCommit(long accountId) {
+        afterCommit(() -> evict(accountId));
+    }
+
+    public void evict(long accountId) {
+        try {
+            stringRedisTemplate.delete(key(accountId));
+        } catch (RuntimeException e) {
+            log.error("Failed to evict cached balance for account {}", accountId, e);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private String key(long accountId) {
+        return KEY_PREFIX + accountId;
+    }
+}
@@ -0,0 +1,52 @@
+package faang.school.accountservice.service;
+
+import faang.school.accountservice.repository.BalanceDailyMinRepository;
+import faang.school.accountservice.repository.BalanceDailyMinRepository.BackfillProgress;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.Optional;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BalanceDailyMinBackfillService {
+
+    private static final String BACKFILL_LOCK = "balance_daily_min_backfill";
+
+    private final BalanceDailyMinRepository balanceDailyMinRepository;
+
+    public boolean backfillOnce(LocalDate fromDay, LocalDate toDayExclusive) {
+        boolean acquired = balanceDailyMinRepository.runExclusively(BACKFILL_LOCK,
+                () -> backfill(fromDay, toDayExclusive));
+        if (!acquired) {
+            log.info("Balance daily minimum backfill from {} is running on another node", fromDay);
+        }
+        return acquired;
+    }
+
+    private long backfill(LocalDate fromDay, LocalDate toDayExclusive) {
+        Optional<BackfillProgress> progress = balanceDailyMinRepository.findBackfill(fromDay);
+        if (progress.filter(BackfillProgress::completed).isPresent()) {
+            log.info("Balance daily minimum backfill from {} is already completed", fromDay);
+            return 0;
+        }
+        LocalDate resumeFrom = progress.map(BackfillProgress::backfilledThrough)
+                .filter(Objects::nonNull)
+                .map(day -> day.plusDays(1))
+                .orElse(fromDay);
+        long rows = 0;
+        for (LocalDate day = resumeFrom; day.isBefore(toDayExclusive); day = day.plusDays(1)) {
+            int dayRows = balanceDailyMinRepository.backfillDay(day);
+            balanceDailyMinRepository.saveBackfillProgress(fromDay, day);
+            rows += dayRows;
+            log.debug("Backfilled {} daily minimum rows for {}", dayRows, day);
+        }
+        balanceDailyMinRepository.completeBackfill(fromDay);
+        log.info("Backfilled {} daily minimum rows from {} to {}", rows, resumeFrom, toDayExclusive);
+        return rows;
+    }
+}
@@ -0,0 +1,133 @@
+package faang.school.accountservice.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import faang.school.accountservice.dto.balance_history.BalanceHistoryEntryDto;
+import faang.school.accountservice.dto.balance_history.BalanceHistoryPageDto;
+import faang.school.accountservice.properties.balance.BalanceHistoryProperties;
+import faang.school.accountservice.repository.BalanceHistoryRepository;
+import faang.school.accountservice.service.archive.BalanceAuditArchive;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Consumer;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BalanceHistoryService {
+
+    private static final String CURSOR_SEPARATOR = "|";
+
+    private final BalanceHistoryRepository balanceHistoryRepository;
+    private final BalanceHistoryProperties historyProperties;
+    private final ObjectMapper objectMapper;
+    private final BalanceAuditArchive balanceAuditArchive;
+
+    @Transactional(readOnly = true)
+    public BalanceHistoryPageDto getHistory(long accountId, String cursor, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        List<BalanceHistoryEntryDto> entries;
+        HistoryCursor position = cursor == null || cursor.isBlank() ? null : decodeCursor(cursor);
+        LocalDateTime hotFrom = balanceAuditArchive.findHotBoundary();
+        if (position == null) {
+            entries = balanceHistoryRepository.findFirstPage(accountId, hotFrom, pageSize + 1);
+        } else if (position.createdAt().isBefore(hotFrom)) {
+            entries = List.of();
+        } else {
+            entries = balanceHistoryRepository.findPageAfter(accountId, hotFrom, position.createdAt(), position.id(),
+                    pageSize + 1);
+        }
+        if (entries.size() <= pageSize) {
+            entries = appendArchived(accountId, entries, position, pageSize + 1);
+        }
+
+        if (entries.size() <= pageSize) {
+            return new BalanceHistoryPageDto(entries, null);
+        }
+        List<BalanceHistoryEntryDto> page = entries.subList(0, pageSize);
+        return new BalanceHistoryPageDto(List.copyOf(page), encodeCursor(page.get(pageSize - 1)));
+    }
+
+    @Transactional(readOnly = true)
+    public void streamHistory(long accountId, OutputStream outputStream) {
+        ObjectWriter writer = objectMapper.writerFor(BalanceHistoryEntryDto.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        Consumer<BalanceHistoryEntryDto> writeLine = entry -> {
+            try {
+                writer.writeValue(outputStream, entry);
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+        balanceHistoryRepository.streamByAccountId(accountId, balanceAuditArchive.findHotBoundary(),
+                historyProperties.getStreamFetchSize(), writeLine);
+        balanceAuditArchive.streamHistory(accountId, writeLine);
+        try {
+            outputStream.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.debug("Balance history of account {} streamed", accountId);
+    }
+
+    String encodeCursor(BalanceHistoryEntryDto entry) {
+        String position = entry.getCreatedAt() + CURSOR_SEPARATOR + entry.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    HistoryCursor decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = position.lastIndexOf(CURSOR_SEPARATOR);
+            return new HistoryCursor(
+                    LocalDateTime.parse(position.substring(0, separator)),
+                    Long.parseLong(position.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid balance history cursor: " + cursor);
+        }
+    }
+
+    private List<BalanceHistoryEntryDto> appendArchived(long accountId, List<BalanceHistoryEntryDto> hotEntries,
+                                                        HistoryCursor position, int limit) {
+        List<BalanceHistoryEntryDto> entries = new ArrayList<>(hotEntries);
+        LocalDateTime beforeCreatedAt = position == null ? null : position.createdAt();
+        Long beforeId = position == null ? null : position.id();
+        if (!entries.isEmpty()) {
+            BalanceHistoryEntryDto last = entries.get(entries.size() - 1);
+            beforeCreatedAt = last.getCreatedAt();
+            beforeId = last.getId();
+        }
+        entries.addAll(balanceAuditArchive.findHistory(accountId, beforeCreatedAt, beforeId, limit - entries.size()));
+        return entries;
+    }
+
+    private int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return historyProperties.getDefaultPageSize();
+        }
+        if (limit < 1 || limit > historyProperties.getMaxPageSize()) {
+            throw new IllegalArgumentException(
+                    "Page size must be between 1 and " + historyProperties.getMaxPageSize());
+        }
+        return limit;
+    }
+
+    record HistoryCursor(LocalDateTime createdAt, long id) {
+    }
+}
@@ -0,0 +1,167 @@
+package faang.school.accountservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import faang.school.accountservice.dto.BalanceDto;
+import faang.school.accountservice.exception.OperationInProgressException;
+import faang.school.accountservice.properties.balance.BalanceIdempotencyProperties;
+import faang.school.accountservice.repository.BalanceOperationRepository;
+import faang.school.accountservice.repository.BalanceOperationRepository.StoredOperation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+@Slf4j
+@Service
+public class BalanceIdempotencyService {
+
+    private final BalanceOperationRepository balanceOperationRepository;
+    private final ObjectMapper objectMapper;
+    private final RecentOperations[] recentOperations;
+    private final Counter memoryReplays;
+    private final Counter databaseReplays;
+
+    public BalanceIdempotencyService(BalanceOperationRepository balanceOperationRepository,
+                                     ObjectMapper objectMapper,
+                                     BalanceIdempotencyProperties idempotencyProperties,
+                                     MeterRegistry meterRegistry) {
+        this.balanceOperationRepository = balanceOperationRepository;
+        this.objectMapper = objectMapper;
+        int segments = Integer.highestOneBit(Math.max(1, idempotencyProperties.getSegments()));
+        int segmentCapacity = Math.max(1, idempotencyProperties.getRecentCapacity() / segments);
+        this.recentOperations = new RecentOperations[segments];
+        for (int i = 0; i < segments; i++) {
+            recentOperations[i] = new RecentOperations(segmentCapacity);
+        }
+        this.memoryReplays = meterRegistry.counter("balance.idempotency.replays", "source", "memory");
+        this.databaseReplays = meterRegistry.counter("balance.idempotency.replays", "source", "database");
+    }
+
+    public static int payloadHash(Object... parts) {
+        return Arrays.stream(parts)
+                .map(BalanceIdempotencyService::canonical)
+                .toList()
+                .hashCode();
+    }
+
+    public Optional<BalanceDto> findReplay(long accountId, long operationId, int payloadHash) {
+        OperationKey key = new OperationKey(accountId, operationId);
+        RecentOperation recent = segment(key).get(key);
+        if (recent != null) {
+            checkPayload(accountId, operationId, recent.payloadHash(), payloadHash);
+            memoryReplays.increment();
+            log.info("Operation {} for account {} is a duplicate, replaying recent result", operationId, accountId);
+            return Optional.of(recent.result());
+        }
+        Optional<StoredOperation> stored = balanceOperationRepository.find(accountId, operationId);
+        if (stored.isEmpty()) {
+            return Optional.empty();
+        }
+        if (stored.get().result() == null) {
+            throw new OperationInProgressException(accountId, operationId);
+        }
+        if (stored.get().payloadHash() != null) {
+            checkPayload(accountId, operationId, stored.get().payloadHash(), payloadHash);
+        }
+        BalanceDto original = readResult(stored.get().result());
+        segment(key).put(key, new RecentOperation(stored.get().payloadHash() == null ? payloadHash
+                : stored.get().payloadHash(), original));
+        databaseReplays.increment();
+        log.info("Operation {} for account {} is a duplicate, replaying stored result", operationId, accountId);
+        return Optional.of(original);
+    }
+
+    public void complete(long accountId, long operationId, int payloadHash, BalanceDto result) {
+        // A concurrent duplicate that committed first wins; this transaction must roll back its posting
+        if (!balanceOperationRepository.record(accountId, operationId, payloadHash, writeResult(result))) {
+            throw new OperationInProgressException(accountId, operationId);
+        }
+        OperationKey key = new OperationKey(accountId, operationId);
+        RecentOperation recent = new RecentOperation(payloadHash, result);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            segment(key).put(key, recent);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                segment(key).put(key, recent);
+            }
+        });
+    }
+
+    private static String canonical(Object part) {
+        if (part instanceof BigDecimal amount) {
+            return amount.stripTrailingZeros().toPlainString();
+        }
+        if (part instanceof Enum<?> constant) {
+            return constant.name();
+        }
+        return String.valueOf(part);
+    }
+
+    private void checkPayload(long accountId, long operationId, int originalHash, int payloadHash) {
+        if (originalHash != payloadHash) {
+            throw new IllegalArgumentException("Operation %d for account %d was already used with a different payload"
+                    .formatted(operationId, accountId));
+        }
+    }
+
+    private RecentOperations segment(OperationKey key) {
+        int hash = key.hashCode();
+        return recentOperations[(hash ^ hash >>> 16) & (recentOperations.length - 1)];
+    }
+
+    private String writeResult(BalanceDto result) {
+        try {
+            return objectMapper.writeValueAsString(result);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize balance operation result", e);
+        }
+    }
+
+    private BalanceDto readResult(String result) {
+        try {
+            return objectMapper.readValue(result, BalanceDto.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to read balance operation result", e);
+        }
+    }
+
+    private record OperationKey(long accountId, long operationId) {
+    }
+
+    private record RecentOperation(int payloadHash, BalanceDto result) {
+    }
+
+    private static class RecentOperations {
+
+        private final Map<OperationKey, RecentOperation> entries;
+
+        private RecentOperations(int capacity) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<OperationKey, RecentOperation> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        private synchronized RecentOperation get(OperationKey key) {
+            return entries.get(key);
+        }
+
+        private synchronized void put(OperationKey key, RecentOperation operation) {
+            entries.put(key, operation);
+        }
+    }
+}
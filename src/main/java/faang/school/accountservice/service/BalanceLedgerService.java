@@ -0,0 +1,82 @@
+package faang.school.accountservice.service;
+
+import faang.school.accountservice.entity.Balance;
+import faang.school.accountservice.exception.BalanceBelowZeroException;
+import faang.school.accountservice.repository.BalanceLedgerRepository;
+import faang.school.accountservice.repository.BalanceLedgerRepository.LedgerTail;
+import faang.school.accountservice.repository.BalanceRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BalanceLedgerService {
+
+    private final BalanceRepository balanceRepository;
+    private final BalanceLedgerRepository balanceLedgerRepository;
+
+    @Transactional(noRollbackFor = {BalanceBelowZeroException.class, EntityNotFoundException.class})
+    public Balance append(long accountId, Long operationId, BigDecimal actualDelta, BigDecimal authorizationDelta) {
+        if (operationId == null) {
+            throw new IllegalArgumentException(
+                    "Ledger entry of account %d requires an operation id".formatted(accountId));
+        }
+        boolean debit = actualDelta.signum() < 0 || authorizationDelta.signum() < 0;
+        if (!debit) {
+            // Credits cannot overdraw, so they append without locking the snapshot row
+            Balance current = withTail(balanceRepository.findByAccountId(accountId)
+                    .orElseThrow(() -> new EntityNotFoundException("Balance not found")));
+            balanceLedgerRepository.append(accountId, operationId, actualDelta, authorizationDelta);
+            log.info("Ledger entry appended for {} account", accountId);
+            return applied(current, actualDelta, authorizationDelta);
+        }
+
+        Balance current = withTail(balanceRepository.findByAccountIdForUpdate(accountId)
+                .orElseThrow(() -> new EntityNotFoundException("Balance not found")));
+        BigDecimal actualBalance = current.getActualBalance().add(actualDelta);
+        BigDecimal authorizationBalance = current.getAuthorizationBalance().add(authorizationDelta);
+        if (actualBalance.signum() < 0 || authorizationBalance.signum() < 0) {
+            throw new BalanceBelowZeroException(accountId, actualDelta.min(authorizationDelta));
+        }
+
+        balanceLedgerRepository.append(accountId, operationId, actualDelta, authorizationDelta);
+        log.info("Ledger entry appended for {} account", accountId);
+        return applied(current, actualDelta, authorizationDelta);
+    }
+
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public Balance getBalance(long accountId) {
+        return balanceRepository.findByAccountId(accountId)
+                .map(this::withTail)
+                .orElseThrow(() -> new EntityNotFoundException("Balance not found"));
+    }
+
+    private Balance applied(Balance current, BigDecimal actualDelta, BigDecimal authorizationDelta) {
+        return current.toBuilder()
+                .actualBalance(current.getActualBalance().add(actualDelta))
+                .authorizationBalance(current.getAuthorizationBalance().add(authorizationDelta))
+                .version(current.getVersion() + 1)
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    private Balance withTail(Balance snapshot) {
+        LedgerTail tail = balanceLedgerRepository.sumTail(snapshot.getAccount().getId(), snapshot.getLedgerPosition());
+        if (tail.entries() == 0) {
+            return snapshot.toBuilder().build();
+        }
+        return snapshot.toBuilder()
+                .actualBalance(snapshot.getActualBalance().add(tail.actualDelta()))
+                .authorizationBalance(snapshot.getAuthorizationBalance().add(tail.authorizationDelta()))
+                .version(snapshot.getVersion() + tail.entries())
+                .build();
+    }
+}
@@ -0,0 +1,143 @@
+package faang.school.accountservice.service;
+
+import faang.school.accountservice.dto.BalanceDto;
+import faang.school.accountservice.dto.TransactionDto;
+import faang.school.accountservice.properties.BalanceSequencerProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+@Service
+public class BalancePostingSequencer {
+
+    private final BalanceService balanceService;
+    private final Executor sequencerExecutor;
+    private final int maxBatchSize;
+    private final Map<Long, Mailbox> mailboxes = new ConcurrentHashMap<>();
+
+    public BalancePostingSequencer(BalanceService balanceService,
+                                   @Qualifier("balanceSequencerThreadPool") Executor sequencerExecutor,
+                                   BalanceSequencerProperties sequencerProperties) {
+        this.balanceService = balanceService;
+        this.sequencerExecutor = sequencerExecutor;
+        this.maxBatchSize = Math.max(1, sequencerProperties.getMaxBatchSize());
+    }
+
+    public CompletableFuture<BalanceDto> submit(Long accountId, TransactionDto transaction) {
+        PendingPosting posting = new PendingPosting(transaction, new CompletableFuture<>());
+        Mailbox mailbox = mailboxes.compute(accountId, (id, current) -> {
+            Mailbox target = current == null ? new Mailbox(id) : current;
+            target.queue.add(posting);
+            return target;
+        });
+        schedule(mailbox);
+        return posting.result;
+    }
+
+    public BalanceDto post(Long accountId, TransactionDto transaction) {
+        try {
+            return submit(accountId, transaction).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private void schedule(Mailbox mailbox) {
+        if (!mailbox.scheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            sequencerExecutor.execute(() -> drain(mailbox));
+        } catch (RejectedExecutionException ex) {
+            log.error("Sequencer pool rejected mailbox of account {}", mailbox.accountId, ex);
+            PendingPosting posting;
+            while ((posting = mailbox.queue.poll()) != null) {
+                posting.result.completeExceptionally(ex);
+            }
+            mailbox.scheduled.set(false);
+        }
+    }
+
+    private void drain(Mailbox mailbox) {
+        try {
+            List<PendingPosting> batch = new ArrayList<>(maxBatchSize);
+            PendingPosting posting;
+            while ((posting = mailbox.queue.poll()) != null) {
+                batch.add(posting);
+                if (batch.size() == maxBatchSize) {
+                    commit(mailbox.accountId, batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                commit(mailbox.accountId, batch);
+            }
+        } finally {
+            // Enqueueing also runs inside compute, so an idle mailbox is only retired when nothing can reach it
+            mailboxes.computeIfPresent(mailbox.accountId,
+                    (id, current) -> current == mailbox && mailbox.queue.isEmpty() ? null : current);
+            mailbox.scheduled.set(false);
+            if (!mailbox.queue.isEmpty()) {
+                schedule(mailbox);
+            }
+        }
+    }
+
+    private void commit(Long accountId, List<PendingPosting> batch) {
+        List<TransactionDto> transactions = batch.stream()
+                .map(PendingPosting::transaction)
+                .toList();
+        try {
+            List<BalanceDto> balances = balanceService.applyTransactionGroup(accountId, transactions);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result.complete(balances.get(i));
+            }
+            log.debug("Group commit of {} postings for account {}", batch.size(), accountId);
+        } catch (RuntimeException ex) {
+            if (batch.size() == 1) {
+                batch.get(0).result.completeExceptionally(ex);
+                return;
+            }
+            log.info("Group commit for account {} failed, applying {} postings one by one: {}",
+                    accountId, batch.size(), ex.getMessage());
+            batch.forEach(pending -> commitSingle(accountId, pending));
+        }
+    }
+
+    private void commitSingle(Long accountId, PendingPosting pending) {
+        try {
+            pending.result.complete(balanceService.updateBalance(accountId, pending.transaction));
+        } catch (RuntimeException ex) {
+            pending.result.completeExceptionally(ex);
+        }
+    }
+
+    private record PendingPosting(TransactionDto transaction, CompletableFuture<BalanceDto> result) {
+    }
+
+    private static class Mailbox {
+        private final Long accountId;
+        private final Queue<PendingPosting> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private Mailbox(Long accountId) {
+            this.accountId = accountId;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package faang.school.accountservice.service;
+
+import faang.school.accountservice.enums.DiscrepancyType;
+import faang.school.accountservice.properties.balance.BalanceReconciliationProperties;
+import faang.school.accountservice.repository.BalanceReconciliationRepository;
+import faang.school.accountservice.repository.BalanceReconciliationRepository.AccountIdBounds;
+import faang.school.accountservice.repository.BalanceReconciliationRepository.Discrepancy;
+import faang.school.accountservice.repository.BalanceReconciliationRepository.ReconciledBalance;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Service
+public class BalanceReconciliationService {
+
+    private final BalanceReconciliationRepository reconciliationRepository;
+    private final BalanceReconciliationProperties reconciliationProperties;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Counter checkedAccounts;
+    private final Counter completedRanges;
+    private final Counter failedRanges;
+    private final Map<DiscrepancyType, Counter> discrepancyCounters = new EnumMap<>(DiscrepancyType.class);
+    private final Timer rangeTimer;
+    private final AtomicLong remainingRanges = new AtomicLong();
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public BalanceReconciliationService(BalanceReconciliationRepository reconciliationRepository,
+                                        BalanceReconciliationProperties reconciliationProperties,
+                                        PlatformTransactionManager transactionManager,
+                                        MeterRegistry meterRegistry) {
+        this.reconciliationRepository = reconciliationRepository;
+        this.reconciliationProperties = reconciliationProperties;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.checkedAccounts = meterRegistry.counter("balance.reconciliation.accounts.checked");
+        this.completedRanges = meterRegistry.counter("balance.reconciliation.ranges.completed");
+        this.failedRanges = meterRegistry.counter("balance.reconciliation.ranges.failed");
+        for (DiscrepancyType type : DiscrepancyType.values()) {
+            discrepancyCounters.put(type, meterRegistry.counter("balance.reconciliation.discrepancies",
+                    "type", type.name().toLowerCase()));
+        }
+        this.rangeTimer = meterRegistry.timer("balance.reconciliation.range");
+        meterRegistry.gauge("balance.reconciliation.ranges.remaining", remainingRanges);
+    }
+
+    public ReconciliationSummary reconcile() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Balance reconciliation is already running");
+        }
+        try {
+            return runReconciliation(UUID.randomUUID());
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private ReconciliationSummary runReconciliation(UUID runId) {
+        long startedAt = System.nanoTime();
+        LocalDateTime changedBefore = LocalDateTime.now().minus(reconciliationProperties.getGracePeriod());
+        Optional<AccountIdBounds> bounds = reconciliationRepository.findAccountIdBounds();
+        if (bounds.isEmpty()) {
+            return new ReconciliationSummary(runId, 0, 0, 0, 0, Duration.ZERO);
+        }
+
+        List<Callable<RangeResult>> ranges = splitIntoRanges(runId, bounds.get(), changedBefore);
+        remainingRanges.set(ranges.size());
+        log.info("Balance reconciliation {} started over {} account id ranges", runId, ranges.size());
+
+        ForkJoinPool pool = new ForkJoinPool(reconciliationProperties.getParallelism());
+        long accounts = 0;
+        long discrepancies = 0;
+        int failed = 0;
+        try {
+            for (Future<RangeResult> future : pool.invokeAll(ranges)) {
+                RangeResult result = future.get();
+                accounts += result.accounts();
+                discrepancies += result.discrepancies();
+                failed += result.failed() ? 1 : 0;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Balance reconciliation " + runId + " was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Balance reconciliation " + runId + " failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+            remainingRanges.set(0);
+        }
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+        log.info("Balance reconciliation {} checked {} accounts in {} ms ({} accounts/s), {} discrepancies, {} failed ranges",
+                runId, accounts, elapsed.toMillis(), accounts * 1000 / Math.max(elapsed.toMillis(), 1),
+                discrepancies, failed);
+        return new ReconciliationSummary(runId, ranges.size(), accounts, discrepancies, failed, elapsed);
+    }
+
+    private List<Callable<RangeResult>> splitIntoRanges(UUID runId, AccountIdBounds bounds,
+                                                        LocalDateTime changedBefore) {
+        long rangeSize = reconciliationProperties.getRangeSize();
+        List<Callable<RangeResult>> ranges = new ArrayList<>();
+        for (long from = bounds.minAccountId(); from <= bounds.maxAccountId(); from += rangeSize) {
+            long rangeFrom = from;
+            long rangeTo = Math.min(from + rangeSize, bounds.maxAccountId() + 1);
+            ranges.add(() -> reconcileRange(runId, rangeFrom, rangeTo, changedBefore));
+        }
+        return ranges;
+    }
+
+    private RangeResult reconcileRange(UUID runId, long fromAccountId, long toAccountIdExclusive,
+                                       LocalDateTime changedBefore) {
+        try {
+            RangeResult result = rangeTimer.record(() -> checkRange(runId, fromAccountId, toAccountIdExclusive, changedBefore));
+            completedRanges.increment();
+            return result;
+        } catch (RuntimeException e) {
+            failedRanges.increment();
+            log.error("Balance reconciliation {} failed for account ids [{}, {})",
+                    runId, fromAccountId, toAccountIdExclusive, e);
+            return new RangeResult(0, 0, true);
+        } finally {
+            remainingRanges.decrementAndGet();
+        }
+    }
+
+    private RangeResult checkRange(UUID runId, long fromAccountId, long toAccountIdExclusive,
+                                   LocalDateTime changedBefore) {
+        List<Discrepancy> discrepancies = new ArrayList<>();
+        long accounts = Objects.requireNonNull(readOnlyTransaction.execute(status -> {
+            reconciliationRepository.findChainGaps(fromAccountId, toAccountIdExclusive).forEach((accountId, gaps) ->
+                    discrepancies.add(new Discrepancy(accountId, DiscrepancyType.AUDIT_CHAIN_GAP,
+                            "0", String.valueOf(gaps))));
+            AtomicLong streamed = new AtomicLong();
+            reconciliationRepository.streamRange(fromAccountId, toAccountIdExclusive, changedBefore,
+                    reconciliationProperties.getFetchSize(), balance -> {
+                        streamed.incrementAndGet();
+                        compare(balance, discrepancies);
+                    });
+            return streamed.get();
+        }));
+
+        if (!discrepancies.isEmpty()) {
+            reconciliationRepository.saveDiscrepancies(runId, discrepancies);
+            discrepancies.forEach(discrepancy -> discrepancyCounters.get(discrepancy.type()).increment());
+        }
+        checkedAccounts.increment(accounts);
+        return new RangeResult(accounts, discrepancies.size(), false);
+    }
+
+    private void compare(ReconciledBalance balance, List<Discrepancy> discrepancies) {
+        long accountId = balance.accountId();
+        if (balance.auditVersion() == null) {
+            discrepancies.add(new Discrepancy(accountId, DiscrepancyType.MISSING_AUDIT,
+                    String.valueOf(balance.version()), null));
+            return;
+        }
+        if (balance.auditVersion() != balance.version()) {
+            discrepancies.add(new Discrepancy(accountId, DiscrepancyType.VERSION_MISMATCH,
+                    String.valueOf(balance.version()), String.valueOf(balance.auditVersion())));
+        }
+        if (differs(balance.actualBalance(), balance.auditActualBalance())) {
+            discrepancies.add(new Discrepancy(accountId, DiscrepancyType.ACTUAL_BALANCE_MISMATCH,
+                    balance.actualBalance().toPlainString(), balance.auditActualBalance().toPlainString()));
+        }
+        if (differs(balance.authorizationBalance(), balance.auditAuthorizationBalance())) {
+            discrepancies.add(new Discrepancy(accountId, DiscrepancyType.AUTHORIZATION_BALANCE_MISMATCH,
+                    balance.authorizationBalance().toPlainString(),
+                    balance.auditAuthorizationBalance().toPlainString()));
+        }
+    }
+
+    private boolean differs(BigDecimal expected, BigDecimal actual) {
+        return expected.compareTo(actual) != 0;
+    }
+
+    public record ReconciliationSummary(UUID runId, int ranges, long accounts, long discrepancies,
+                                        int failedRanges, Duration elapsed) {
+    }
+
+    private record RangeResult(long accounts, long discrepancies, boolean failed) {
+    }
+}
@@ -2,28 +2,61 @@ package faang.school.accountservice.service;
 
 import faang.school.accountservice.dto.BalanceDto;
 import faang.school.accountservice.dto.TransactionDto;
+import faang.school.accountservice.dto.posting.PostingDto;
+import faang.school.accountservice.dto.posting.PostingResultDto;
+import faang.school.accountservice.dto.transfer.TransferDto;
+import faang.school.accountservice.dto.transfer.TransferResultDto;
 import faang.school.accountservice.entity.Account;
 import faang.school.accountservice.entity.Balance;
+import faang.school.accountservice.entity.BalanceAudit;
+import faang.school.accountservice.enums.OperationType;
 import faang.school.accountservice.exception.BalanceBelowZeroException;
 import faang.school.accountservice.mapper.BalanceMapper;
+import faang.school.accountservice.properties.balance.BalanceLedgerProperties;
+import faang.school.accountservice.properties.balance.BalanceStripingProperties;
+import faang.school.accountservice.repository.BalanceBatchRepository;
 import faang.school.accountservice.repository.BalanceRepository;
+import faang.school.accountservice.repository.BalanceStripeRepository;
+import faang.school.accountservice.util.Money;
 import jakarta.persistence.EntityNotFoundException;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class BalanceService {
 
+    private static final int BULK_LOCK_CHUNK_SIZE = 1000;
+
     private final BalanceRepository balanceRepository;
+    private final BalanceBatchRepository balanceBatchRepository;
     private final BalanceMapper balanceMapper;
     private final BalanceAuditService balanceAuditService;
+    private final BalanceStripeRepository balanceStripeRepository;
+    private final BalanceStripingProperties stripingProperties;
+    private final BalanceCacheService balanceCacheService;
+    private final BalanceIdempotencyService balanceIdempotencyService;
+    private final BalanceLedgerService balanceLedgerService;
+    private final BalanceLedgerProperties ledgerProperties;
+    private final BalanceViewService balanceViewService;
 
     @Transactional
     public BalanceDto createBalance(Account account) {
@@ -40,46 +73,521 @@ public class BalanceService {
     }
 
     public BalanceDto getBalance(Long accountId) {
-        Balance balance = getBalanceFromRepository(accountId);
-        balanceAuditService.createAudit(balance, (long) balance.getVersion());
+        if (ledgerProperties.isLedger(accountId)) {
+            return balanceMapper.toDto(balanceLedgerService.getBalance(accountId));
+        }
+        if (stripingProperties.isStriped(accountId)) {
+            return balanceViewService.getStripedBalance(accountId);
+        }
+        if (!balanceCacheService.isEnabled()) {
+            return balanceViewService.getBalance(accountId);
+        }
+        Optional<BalanceDto> cachedBalance = balanceCacheService.get(accountId);
+        if (cachedBalance.isPresent()) {
+            return cachedBalance.get();
+        }
+        BalanceDto balanceDto = balanceViewService.getPrimaryBalance(accountId);
         log.info("Balance for {} account is found", accountId);
-        return balanceMapper.toDto(balance);
+        balanceCacheService.put(accountId, balanceDto);
+        return balanceDto;
     }
 
     @Transactional
     public BalanceDto updateBalance(Long accountId, TransactionDto transaction) {
-        Balance balance = getBalanceFromRepository(accountId);
+        return applyTransaction(accountId, transaction);
+    }
 
-        BigDecimal amount = transaction.getAmount();
-        BigDecimal actualBalance = balance.getActualBalance();
-        BigDecimal authorizationBalance = balance.getAuthorizationBalance();
+    @Transactional
+    public BalanceDto applyDelta(Long accountId, Long operationId, BigDecimal actualDelta, BigDecimal authorizationDelta) {
+        if (ledgerProperties.isLedger(accountId)) {
+            Balance balance = balanceLedgerService.append(accountId, operationId, actualDelta, authorizationDelta);
+            return balanceMapper.toDto(balance);
+        }
+        if (stripingProperties.isStriped(accountId)) {
+            balanceStripeRepository.consolidate(accountId);
+        }
 
-        switch (transaction.getOperationType()) {
-            case CLEARING -> actualBalance = actualBalance.add(amount);
-            case AUTHORIZATION -> authorizationBalance = authorizationBalance.add(amount);
+        Balance balance = balanceRepository.applyDelta(accountId, actualDelta, authorizationDelta)
+                .orElseThrow(() -> rejectPosting(accountId, actualDelta.min(authorizationDelta)));
+
+        balanceAuditService.enqueueAudit(balance, operationId);
+
+        log.info("Balance for {} account is updated", accountId);
+        BalanceDto balanceDto = balanceMapper.toDto(withStripes(accountId, balance));
+        cacheAfterCommit(accountId, balanceDto);
+        return balanceDto;
+    }
+
+    @Transactional
+    public BalanceDto applyTransactions(Long accountId, List<TransactionDto> transactions) {
+        List<BalanceDto> balances = applyTransactionGroup(accountId, transactions);
+        return balances.get(balances.size() - 1);
+    }
+
+    @Transactional
+    public List<BalanceDto> applyTransactionGroup(Long accountId, List<TransactionDto> transactions) {
+        if (transactions == null || transactions.isEmpty()) {
+            throw new IllegalArgumentException("At least one transaction is required");
+        }
+        if (ledgerProperties.isLedger(accountId)) {
+            return transactions.stream()
+                    .map(transaction -> applyTransaction(accountId, transaction))
+                    .toList();
         }
+        Balance balance = balanceRepository.findByAccountIdForUpdate(accountId)
+                .orElseThrow(() -> new EntityNotFoundException("Balance not found"));
+        BigDecimal drained = stripingProperties.isStriped(accountId)
+                ? balanceStripeRepository.drain(accountId)
+                : BigDecimal.ZERO;
+
+        long actualBalance = Money.toMinorUnits(balance.getActualBalance().add(drained));
+        long authorizationBalance = Money.toMinorUnits(balance.getAuthorizationBalance());
+        int version = balance.getVersion();
+        LocalDateTime now = LocalDateTime.now();
+        List<BalanceAudit> audits = new ArrayList<>(transactions.size());
+        Balance[] states = new Balance[transactions.size()];
+        BalanceDto[] results = new BalanceDto[transactions.size()];
+        Map<Long, Integer> appliedIndexes = new HashMap<>();
+        int[] duplicateOf = new int[transactions.size()];
+        Arrays.fill(duplicateOf, -1);
+        Balance finalState = null;
 
-        if (authorizationBalance.compareTo(BigDecimal.ZERO) < 0 ||
-                actualBalance.compareTo(BigDecimal.ZERO) < 0) {
-            throw new BalanceBelowZeroException(accountId, amount);
+        for (int i = 0; i < transactions.size(); i++) {
+            TransactionDto transaction = transactions.get(i);
+            Integer appliedIndex = appliedIndexes.get(transaction.getOperationId());
+            if (appliedIndex != null) {
+                duplicateOf[i] = appliedIndex;
+                continue;
+            }
+            Optional<BalanceDto> replay = findReplay(accountId, transaction.getOperationId(), payloadHash(transaction));
+            if (replay.isPresent()) {
+                results[i] = replay.get();
+                continue;
+            }
+            long amount = Money.toMinorUnits(transaction.getAmount());
+            switch (transaction.getOperationType()) {
+                case CLEARING -> actualBalance = Money.add(actualBalance, amount);
+                case AUTHORIZATION -> authorizationBalance = Money.add(authorizationBalance, amount);
+            }
+            if (authorizationBalance < 0 || actualBalance < 0) {
+                throw new BalanceBelowZeroException(accountId, transaction.getAmount());
+            }
+            finalState = balance.toBuilder()
+                    .actualBalance(Money.toDecimal(actualBalance))
+                    .authorizationBalance(Money.toDecimal(authorizationBalance))
+                    .version(++version)
+                    .updatedAt(now)
+                    .build();
+            states[i] = finalState;
+            audits.add(balanceAuditService.buildAudit(finalState, transaction.getOperationId()));
+            if (transaction.getOperationId() != null) {
+                appliedIndexes.put(transaction.getOperationId(), i);
+            }
         }
 
-        balance.setActualBalance(actualBalance);
-        balance.setAuthorizationBalance(authorizationBalance);
-        balance.setUpdatedAt(LocalDateTime.now());
-        balance = balanceRepository.save(balance);
+        if (finalState != null) {
+            balanceRepository.overwriteLockedBalance(balance.getId(), finalState.getActualBalance(),
+                    finalState.getAuthorizationBalance(), audits.size());
+            balanceAuditService.createAudits(audits);
+        } else if (drained.signum() != 0) {
+            balanceStripeRepository.credit(accountId, 0, drained);
+        }
+
+        log.info("{} of {} transactions applied to balance of {} account", audits.size(), transactions.size(), accountId);
+        BigDecimal stripesSum = stripingProperties.isStriped(accountId)
+                ? balanceStripeRepository.sumByAccountId(accountId)
+                : BigDecimal.ZERO;
+        for (int i = 0; i < transactions.size(); i++) {
+            if (states[i] != null) {
+                states[i].setActualBalance(states[i].getActualBalance().add(stripesSum));
+                results[i] = balanceMapper.toDto(states[i]);
+                completeOperation(accountId, transactions.get(i).getOperationId(),
+                        payloadHash(transactions.get(i)), results[i]);
+            } else if (duplicateOf[i] >= 0) {
+                results[i] = results[duplicateOf[i]];
+            }
+        }
+        if (finalState != null) {
+            cacheAfterCommit(accountId, balanceMapper.toDto(finalState));
+        }
+        return List.of(results);
+    }
 
-        balanceAuditService.createAudit(balance, transaction.getOperationId());
+    @Transactional
+    public List<PostingResultDto> applyPostings(List<PostingDto> postings) {
+        List<Integer> orderedIndexes = IntStream.range(0, postings.size()).boxed()
+                .sorted(Comparator.comparing(index -> postings.get(index).getAccountId(),
+                        Comparator.nullsFirst(Comparator.naturalOrder())))
+                .toList();
+        List<Long> accountIds = orderedIndexes.stream()
+                .map(index -> postings.get(index).getAccountId())
+                .filter(Objects::nonNull)
+                .filter(accountId -> !ledgerProperties.isLedger(accountId))
+                .distinct()
+                .toList();
+        Map<Long, Balance> balances = lockBalances(accountIds);
+        Map<Long, BigDecimal> drainedStripes = drainStripes(balances);
 
-        log.info("Balance for {} account is updated", accountId);
-        return balanceMapper.toDto(balance);
+        PostingResultDto[] results = new PostingResultDto[postings.size()];
+        Map<Long, Balance> updatedBalances = new LinkedHashMap<>();
+        List<BalanceAudit> audits = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        Long runningAccountId = null;
+        long runningActualBalance = 0;
+        long runningAuthorizationBalance = 0;
+
+        for (int index : orderedIndexes) {
+            PostingDto posting = postings.get(index);
+            if (posting.getAccountId() != null && ledgerProperties.isLedger(posting.getAccountId())) {
+                results[index] = appendLedgerPosting(posting);
+                continue;
+            }
+            Balance balance = balances.get(posting.getAccountId());
+            if (balance == null) {
+                results[index] = buildPostingResult(posting, false, "Balance not found");
+                continue;
+            }
+            try {
+                if (findReplay(posting.getAccountId(), posting.getOperationId(), payloadHash(posting)).isPresent()) {
+                    results[index] = buildPostingResult(posting, true, "Duplicate operation, original result replayed");
+                    continue;
+                }
+            } catch (IllegalArgumentException e) {
+                results[index] = buildPostingResult(posting, false, e.getMessage());
+                continue;
+            }
+            if (!posting.getAccountId().equals(runningAccountId)) {
+                runningAccountId = posting.getAccountId();
+                runningActualBalance = Money.toMinorUnits(balance.getActualBalance());
+                runningAuthorizationBalance = Money.toMinorUnits(balance.getAuthorizationBalance());
+            }
+
+            long amount = Money.toMinorUnits(posting.getAmount());
+            long actualBalance = runningActualBalance;
+            long authorizationBalance = runningAuthorizationBalance;
+            switch (posting.getOperationType()) {
+                case CLEARING -> actualBalance = Money.add(actualBalance, amount);
+                case AUTHORIZATION -> authorizationBalance = Money.add(authorizationBalance, amount);
+            }
+            if (authorizationBalance < 0 || actualBalance < 0) {
+                results[index] = buildPostingResult(posting, false,
+                        new BalanceBelowZeroException(posting.getAccountId(), posting.getAmount()).getMessage());
+                continue;
+            }
+
+            runningActualBalance = actualBalance;
+            runningAuthorizationBalance = authorizationBalance;
+            balance.setActualBalance(Money.toDecimal(actualBalance));
+            balance.setAuthorizationBalance(Money.toDecimal(authorizationBalance));
+            balance.setVersion(balance.getVersion() + 1);
+            balance.setUpdatedAt(now);
+            updatedBalances.put(posting.getAccountId(), balance);
+            audits.add(balanceAuditService.buildAudit(balance, posting.getOperationId()));
+            completeOperation(posting.getAccountId(), posting.getOperationId(), payloadHash(posting),
+                    balanceMapper.toDto(balance));
+            results[index] = buildPostingResult(posting, true, null);
+        }
+
+        restoreUnusedStripes(drainedStripes, updatedBalances);
+        if (!updatedBalances.isEmpty()) {
+            balanceBatchRepository.updateAll(updatedBalances.values());
+            balanceAuditService.createAudits(audits);
+            updatedBalances.forEach((accountId, balance) ->
+                    cacheAfterCommit(accountId, balanceMapper.toDto(balance)));
+        }
+        log.info("Bulk posting finished: {} of {} postings applied",
+                Arrays.stream(results).filter(PostingResultDto::isSuccess).count(), postings.size());
+        return List.of(results);
     }
 
+    @Transactional
+    public TransferResultDto transfer(TransferDto transfer) {
+        List<TransferResultDto> results = new ArrayList<>(1);
+        RuntimeException rejection = applyTransfers(List.of(transfer), results).get(0);
+        if (rejection != null) {
+            throw rejection;
+        }
+        return results.get(0);
+    }
+
+    @Transactional
+    public List<TransferResultDto> applyTransfers(List<TransferDto> transfers) {
+        List<TransferResultDto> results = new ArrayList<>(transfers.size());
+        applyTransfers(transfers, results);
+        return results;
+    }
+
+    @Transactional
     public void deleteBalance(long balanceId) {
+        balanceRepository.findById(balanceId)
+                .ifPresent(balance -> balanceCacheService.evictAfterCommit(balance.getAccount().getId()));
         balanceRepository.deleteById(balanceId);
         log.info("Balance with id: {} deleted", balanceId);
     }
 
+    private BalanceDto applyTransaction(Long accountId, TransactionDto transaction) {
+        return applyOnce(accountId, transaction.getOperationId(), payloadHash(transaction),
+                () -> postTransaction(accountId, transaction));
+    }
+
+    private BalanceDto postTransaction(Long accountId, TransactionDto transaction) {
+        BigDecimal amount = transaction.getAmount();
+        if (!ledgerProperties.isLedger(accountId) && stripingProperties.isStriped(accountId)
+                && transaction.getOperationType() == OperationType.CLEARING && amount.signum() > 0) {
+            return creditStripe(accountId, transaction);
+        }
+
+        BigDecimal actualDelta = BigDecimal.ZERO;
+        BigDecimal authorizationDelta = BigDecimal.ZERO;
+
+        switch (transaction.getOperationType()) {
+            case CLEARING -> actualDelta = amount;
+            case AUTHORIZATION -> authorizationDelta = amount;
+        }
+
+        return applyDelta(accountId, transaction.getOperationId(), actualDelta, authorizationDelta);
+    }
+
+    private BalanceDto applyOnce(Long accountId, Long operationId, int payloadHash, Supplier<BalanceDto> posting) {
+        Optional<BalanceDto> replay = findReplay(accountId, operationId, payloadHash);
+        if (replay.isPresent()) {
+            return replay.get();
+        }
+        BalanceDto balanceDto = posting.get();
+        completeOperation(accountId, operationId, payloadHash, balanceDto);
+        return balanceDto;
+    }
+
+    private Optional<BalanceDto> findReplay(Long accountId, Long operationId, int payloadHash) {
+        return operationId == null
+                ? Optional.empty()
+                : balanceIdempotencyService.findReplay(accountId, operationId, payloadHash);
+    }
+
+    private void completeOperation(Long accountId, Long operationId, int payloadHash, BalanceDto balanceDto) {
+        if (operationId != null) {
+            balanceIdempotencyService.complete(accountId, operationId, payloadHash, balanceDto);
+        }
+    }
+
+    private int payloadHash(TransactionDto transaction) {
+        return BalanceIdempotencyService.payloadHash(transaction.getAmount(), transaction.getOperationType());
+    }
+
+    private int payloadHash(PostingDto posting) {
+        return BalanceIdempotencyService.payloadHash(posting.getAmount(), posting.getOperationType());
+    }
+
+    private int payloadHash(TransferDto transfer) {
+        return BalanceIdempotencyService.payloadHash(
+                transfer.getFromAccountId(), transfer.getToAccountId(), transfer.getAmount());
+    }
+
+    private void cacheAfterCommit(long accountId, BalanceDto balanceDto) {
+        if (!stripingProperties.isStriped(accountId) && !ledgerProperties.isLedger(accountId)) {
+            balanceCacheService.putAfterCommit(accountId, balanceDto);
+        }
+    }
+
+    private BalanceDto creditStripe(Long accountId, TransactionDto transaction) {
+        int stripe = Math.floorMod(Objects.hash(Thread.currentThread().getId(), transaction.getOperationId()),
+                stripingProperties.getStripes());
+        balanceStripeRepository.credit(accountId, stripe, transaction.getAmount());
+
+        // Not audited here: stripe credits reach the audit with the version that consolidates them
+        Balance balance = withStripes(accountId, getBalanceFromRepository(accountId));
+
+        log.info("Stripe {} of {} account balance is credited", stripe, accountId);
+        return balanceMapper.toDto(balance);
+    }
+
+    private Balance withStripes(long accountId, Balance balance) {
+        if (!stripingProperties.isStriped(accountId)) {
+            return balance;
+        }
+        BigDecimal stripesSum = balanceStripeRepository.sumByAccountId(accountId);
+        return balance.toBuilder()
+                .actualBalance(balance.getActualBalance().add(stripesSum))
+                .build();
+    }
+
+    private RuntimeException rejectPosting(Long accountId, BigDecimal amount) {
+        if (!balanceRepository.existsByAccountId(accountId)) {
+            return new EntityNotFoundException("Balance not found");
+        }
+        return new BalanceBelowZeroException(accountId, amount);
+    }
+
+    private Map<Long, Balance> lockBalances(List<Long> sortedAccountIds) {
+        Map<Long, Balance> balances = new HashMap<>();
+        for (int from = 0; from < sortedAccountIds.size(); from += BULK_LOCK_CHUNK_SIZE) {
+            List<Long> chunk = sortedAccountIds.subList(from, Math.min(from + BULK_LOCK_CHUNK_SIZE, sortedAccountIds.size()));
+            balanceRepository.findAllByAccountIdsForUpdate(chunk)
+                    .forEach(balance -> balances.put(balance.getAccount().getId(), balance.toBuilder().build()));
+        }
+        return balances;
+    }
+
+    private Map<Long, BigDecimal> drainStripes(Map<Long, Balance> lockedBalances) {
+        Map<Long, BigDecimal> drainedStripes = new HashMap<>();
+        lockedBalances.forEach((accountId, balance) -> {
+            if (stripingProperties.isStriped(accountId)) {
+                BigDecimal drained = balanceStripeRepository.drain(accountId);
+                if (drained.signum() != 0) {
+                    balance.setActualBalance(balance.getActualBalance().add(drained));
+                    drainedStripes.put(accountId, drained);
+                }
+            }
+        });
+        return drainedStripes;
+    }
+
+    // The base row only moves together with a new version and its audit
+    private void restoreUnusedStripes(Map<Long, BigDecimal> drainedStripes, Map<Long, Balance> updatedBalances) {
+        drainedStripes.forEach((accountId, drained) -> {
+            if (!updatedBalances.containsKey(accountId)) {
+                balanceStripeRepository.credit(accountId, 0, drained);
+            }
+        });
+    }
+
+    private List<RuntimeException> applyTransfers(List<TransferDto> transfers, List<TransferResultDto> results) {
+        List<Long> accountIds = transfers.stream()
+                .flatMap(transfer -> Stream.of(transfer.getFromAccountId(), transfer.getToAccountId()))
+                .filter(Objects::nonNull)
+                .filter(accountId -> !ledgerProperties.isLedger(accountId))
+                .distinct()
+                .sorted()
+                .toList();
+        Map<Long, Balance> balances = lockBalances(accountIds);
+        Map<Long, BigDecimal> drainedStripes = drainStripes(balances);
+        Map<Long, Balance> updatedBalances = new LinkedHashMap<>();
+
+        List<RuntimeException> rejections = new ArrayList<>(transfers.size());
+        List<BalanceAudit> audits = new ArrayList<>(transfers.size() * 2);
+        LocalDateTime now = LocalDateTime.now();
+
+        for (TransferDto transfer : transfers) {
+            RuntimeException rejection = validateTransfer(transfer, balances);
+            long amount = rejection == null ? Money.toMinorUnits(transfer.getAmount()) : 0;
+            Balance from = balances.get(transfer.getFromAccountId());
+            Balance to = balances.get(transfer.getToAccountId());
+            long fromActualBalance = rejection == null
+                    ? Money.add(Money.toMinorUnits(from.getActualBalance()), -amount)
+                    : 0;
+            if (rejection == null) {
+                try {
+                    Optional<BalanceDto> fromReplay =
+                            findReplay(transfer.getFromAccountId(), transfer.getOperationId(), payloadHash(transfer));
+                    Optional<BalanceDto> toReplay =
+                            findReplay(transfer.getToAccountId(), transfer.getOperationId(), payloadHash(transfer));
+                    if (fromReplay.isPresent() && toReplay.isPresent()) {
+                        rejections.add(null);
+                        results.add(buildTransferResult(transfer, null, fromReplay.get(), toReplay.get()));
+                        continue;
+                    }
+                    if (fromReplay.isPresent() || toReplay.isPresent()) {
+                        rejection = new IllegalArgumentException(
+                                "Operation %d was already used for only one of accounts %d and %d".formatted(
+                                        transfer.getOperationId(), transfer.getFromAccountId(),
+                                        transfer.getToAccountId()));
+                    } else if (fromActualBalance < 0) {
+                        rejection = new BalanceBelowZeroException(
+                                transfer.getFromAccountId(), transfer.getAmount().negate());
+                    }
+                } catch (IllegalArgumentException e) {
+                    rejection = e;
+                }
+            }
+            rejections.add(rejection);
+            if (rejection != null) {
+                results.add(buildTransferResult(transfer, rejection.getMessage(), null, null));
+                continue;
+            }
+
+            from.setActualBalance(Money.toDecimal(fromActualBalance));
+            to.setActualBalance(Money.toDecimal(Money.add(Money.toMinorUnits(to.getActualBalance()), amount)));
+            for (Balance balance : List.of(from, to)) {
+                balance.setVersion(balance.getVersion() + 1);
+                balance.setUpdatedAt(now);
+                updatedBalances.put(balance.getAccount().getId(), balance);
+                audits.add(balanceAuditService.buildAudit(balance, transfer.getOperationId()));
+            }
+            BalanceDto fromBalance = balanceMapper.toDto(from);
+            BalanceDto toBalance = balanceMapper.toDto(to);
+            int payloadHash = payloadHash(transfer);
+            completeOperation(transfer.getFromAccountId(), transfer.getOperationId(), payloadHash, fromBalance);
+            completeOperation(transfer.getToAccountId(), transfer.getOperationId(), payloadHash, toBalance);
+            results.add(buildTransferResult(transfer, null, fromBalance, toBalance));
+        }
+
+        restoreUnusedStripes(drainedStripes, updatedBalances);
+        if (!updatedBalances.isEmpty()) {
+            balanceBatchRepository.updateAll(updatedBalances.values());
+        }
+        balanceAuditService.createAudits(audits);
+        updatedBalances.forEach((accountId, balance) -> cacheAfterCommit(accountId, balanceMapper.toDto(balance)));
+        log.info("{} of {} transfers applied across {} accounts",
+                rejections.stream().filter(Objects::isNull).count(), transfers.size(), balances.size());
+        return rejections;
+    }
+
+    private RuntimeException validateTransfer(TransferDto transfer, Map<Long, Balance> balances) {
+        if (transfer.getAmount() == null || transfer.getAmount().signum() <= 0) {
+            return new IllegalArgumentException("Transfer amount must be positive");
+        }
+        if (transfer.getAmount().stripTrailingZeros().scale() > 2) {
+            return new IllegalArgumentException("Transfer amount must have at most 2 decimal places");
+        }
+        if (transfer.getOperationId() == null) {
+            return new IllegalArgumentException("Transfer operation id is required");
+        }
+        if (Objects.equals(transfer.getFromAccountId(), transfer.getToAccountId())) {
+            return new IllegalArgumentException("Transfer source and destination must differ");
+        }
+        if (Stream.of(transfer.getFromAccountId(), transfer.getToAccountId())
+                .anyMatch(accountId -> accountId != null && ledgerProperties.isLedger(accountId))) {
+            return new IllegalArgumentException("Transfers are not supported for ledger accounts");
+        }
+        if (!balances.containsKey(transfer.getFromAccountId()) || !balances.containsKey(transfer.getToAccountId())) {
+            return new EntityNotFoundException("Balance not found");
+        }
+        return null;
+    }
+
+    private TransferResultDto buildTransferResult(TransferDto transfer, String message,
+                                                  BalanceDto fromBalance, BalanceDto toBalance) {
+        return TransferResultDto.builder()
+                .operationId(transfer.getOperationId())
+                .success(message == null)
+                .message(message)
+                .fromBalance(fromBalance)
+                .toBalance(toBalance)
+                .build();
+    }
+
+    private PostingResultDto appendLedgerPosting(PostingDto posting) {
+        BigDecimal amount = posting.getAmount();
+        boolean clearing = posting.getOperationType() == OperationType.CLEARING;
+        try {
+            applyOnce(posting.getAccountId(), posting.getOperationId(), payloadHash(posting),
+                    () -> applyDelta(posting.getAccountId(), posting.getOperationId(),
+                            clearing ? amount : BigDecimal.ZERO, clearing ? BigDecimal.ZERO : amount));
+            return buildPostingResult(posting, true, null);
+        } catch (BalanceBelowZeroException | EntityNotFoundException | IllegalArgumentException e) {
+            return buildPostingResult(posting, false, e.getMessage());
+        }
+    }
+
+    private PostingResultDto buildPostingResult(PostingDto posting, boolean success, String message) {
+        return PostingResultDto.builder()
+                .accountId(posting.getAccountId())
+                .operationId(posting.getOperationId())
+                .success(success)
+                .message(message)
+                .build();
+    }
+
     private Balance getBalanceFromRepository(Long accountId) {
         return balanceRepository.findByAccountId(accountId)
                 .orElseThrow(() -> new EntityNotFoundException("Balance not found"));
@@ -0,0 +1,71 @@
+package faang.school.accountservice.service;
+
+import faang.school.accountservice.properties.balance.BalanceLedgerProperties;
+import faang.school.accountservice.repository.BalanceLedgerRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Slf4j
+@Service
+public class BalanceSnapshotService {
+
+    private final BalanceLedgerRepository balanceLedgerRepository;
+    private final BalanceLedgerProperties ledgerProperties;
+    private final Counter advancedSnapshots;
+    private long completedHorizon = -1;
+
+    public BalanceSnapshotService(BalanceLedgerRepository balanceLedgerRepository,
+                                  BalanceLedgerProperties ledgerProperties,
+                                  MeterRegistry meterRegistry) {
+        this.balanceLedgerRepository = balanceLedgerRepository;
+        this.ledgerProperties = ledgerProperties;
+        this.advancedSnapshots = meterRegistry.counter("balance.ledger.snapshots.advanced");
+    }
+
+    public synchronized int advanceSnapshots() {
+        if (completedHorizon < 0) {
+            completedHorizon = balanceLedgerRepository.findLowestPosition();
+        }
+        long horizon = balanceLedgerRepository.currentHorizon();
+        int batchSize = ledgerProperties.getSnapshotBatchSize();
+        int advanced = 0;
+        long afterAccountId = 0;
+        List<Long> accountIds;
+        do {
+            accountIds = balanceLedgerRepository.findPendingAccountIds(completedHorizon, horizon, afterAccountId, batchSize);
+            if (accountIds.isEmpty()) {
+                break;
+            }
+            afterAccountId = accountIds.get(accountIds.size() - 1);
+            advanced += balanceLedgerRepository.advanceSnapshots(accountIds.get(0), afterAccountId, horizon);
+        } while (accountIds.size() == batchSize);
+
+        completedHorizon = horizon;
+        advancedSnapshots.increment(advanced);
+        if (advanced > 0) {
+            log.info("{} balance snapshots advanced to ledger position {}", advanced, horizon);
+        }
+        return advanced;
+    }
+
+    public long migrateAudits() {
+        int batchSize = ledgerProperties.getMigrationBatchSize();
+        long migrated = 0;
+        long afterAccountId = 0;
+        List<Long> accountIds;
+        do {
+            accountIds = balanceLedgerRepository.findAccountIdsAfter(afterAccountId, batchSize);
+            if (accountIds.isEmpty()) {
+                break;
+            }
+            afterAccountId = accountIds.get(accountIds.size() - 1);
+            migrated += balanceLedgerRepository.migrateAudits(accountIds.get(0), afterAccountId);
+        } while (accountIds.size() == batchSize);
+        log.info("{} balance audits migrated into the ledger", migrated);
+        return migrated;
+    }
+}
@@ -0,0 +1,46 @@
+package faang.school.accountservice.service;
+
+import faang.school.accountservice.config.datasource.PrimaryDataSourceHint;
+import faang.school.accountservice.dto.BalanceDto;
+import faang.school.accountservice.mapper.BalanceMapper;
+import faang.school.accountservice.repository.BalanceRepository;
+import faang.school.accountservice.repository.BalanceStripeRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class BalanceViewService {
+
+    private final BalanceRepository balanceRepository;
+    private final BalanceStripeRepository balanceStripeRepository;
+    private final BalanceMapper balanceMapper;
+
+    @Transactional(readOnly = true)
+    public BalanceDto getBalance(long accountId) {
+        return findBalance(accountId);
+    }
+
+    // A lagging replica must never feed the cache; the connection is acquired lazily, inside the hint
+    @Transactional(readOnly = true)
+    public BalanceDto getPrimaryBalance(long accountId) {
+        return PrimaryDataSourceHint.onPrimary(() -> findBalance(accountId));
+    }
+
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public BalanceDto getStripedBalance(long accountId) {
+        BalanceDto balanceDto = findBalance(accountId);
+        balanceDto.setActualBalance(balanceDto.getActualBalance()
+                .add(balanceStripeRepository.sumByAccountId(accountId)));
+        return balanceDto;
+    }
+
+    private BalanceDto findBalance(long accountId) {
+        return balanceRepository.findViewByAccountId(accountId)
+                .map(balanceMapper::toDto)
+                .orElseThrow(() -> new EntityNotFoundException("Balance not found"));
+    }
+}
@@ -0,0 +1,164 @@
+package faang.school.accountservice.service;
+
+import faang.school.accountservice.enums.AccountType;
+import faang.school.accountservice.properties.FreeAccountNumberReplenishmentProperties;
+import faang.school.accountservice.properties.FreeAccountNumbersGenerationProperties;
+import faang.school.accountservice.repository.AccountNumbersSequenceRepository;
+import faang.school.accountservice.repository.FreeAccountNumbersRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+public class FreeAccountNumberReplenisher {
+
+    private final FreeAccountNumbersRepository freeAccountNumbersRepository;
+    private final AccountNumbersSequenceRepository accountNumbersSequenceRepository;
+    private final ObjectProvider<FreeAccountNumbersService> freeAccountNumbersService;
+    private final FreeAccountNumbersGenerationProperties generationProperties;
+    private final FreeAccountNumberReplenishmentProperties replenishmentProperties;
+    private final Executor refillExecutor;
+    private final Map<AccountType, Pool> pools = new EnumMap<>(AccountType.class);
+    private long lastTickNanos = -1;
+
+    public FreeAccountNumberReplenisher(FreeAccountNumbersRepository freeAccountNumbersRepository,
+                                        AccountNumbersSequenceRepository accountNumbersSequenceRepository,
+                                        ObjectProvider<FreeAccountNumbersService> freeAccountNumbersService,
+                                        FreeAccountNumbersGenerationProperties generationProperties,
+                                        FreeAccountNumberReplenishmentProperties replenishmentProperties,
+                                        @Qualifier("taskExecutor") Executor refillExecutor,
+                                        MeterRegistry meterRegistry) {
+        this.freeAccountNumbersRepository = freeAccountNumbersRepository;
+        this.accountNumbersSequenceRepository = accountNumbersSequenceRepository;
+        this.freeAccountNumbersService = freeAccountNumbersService;
+        this.generationProperties = generationProperties;
+        this.replenishmentProperties = replenishmentProperties;
+        this.refillExecutor = refillExecutor;
+        for (AccountType accountType : AccountType.values()) {
+            pools.put(accountType, new Pool(accountType, meterRegistry));
+        }
+    }
+
+    public void recordConsumption(AccountType accountType, int amount) {
+        Pool pool = pools.get(accountType);
+        long level = pool.level.updateAndGet(current -> Math.max(0, current - amount));
+        if (level < pool.lowWatermark()) {
+            refillInBackground(pool);
+        }
+    }
+
+    public void recordExhaustion(AccountType accountType) {
+        Pool pool = pools.get(accountType);
+        pool.exhausted.increment();
+        refillInBackground(pool);
+    }
+
+    public void tick() {
+        tick(System.nanoTime());
+    }
+
+    synchronized void tick(long nowNanos) {
+        double elapsedHours = lastTickNanos < 0 ? 0 : (nowNanos - lastTickNanos) / (double) TimeUnit.HOURS.toNanos(1);
+        lastTickNanos = nowNanos;
+        for (Pool pool : pools.values()) {
+            long level = freeAccountNumbersRepository.countByAccountType(pool.accountType);
+            long generated = accountNumbersSequenceRepository.findCurrentValue(pool.accountType.name());
+            if (elapsedHours > 0) {
+                // Numbers generated by any node that did not stay in the shared pool were claimed
+                long consumed = Math.max(0, (generated - pool.lastGenerated) - (level - pool.lastLevel));
+                double smoothing = replenishmentProperties.getRateSmoothing();
+                pool.ratePerHour = smoothing * (consumed / elapsedHours) + (1 - smoothing) * pool.ratePerHour;
+            }
+            pool.lastLevel = level;
+            pool.lastGenerated = generated;
+            pool.level.set(level);
+            if (pool.level.get() < pool.lowWatermark()) {
+                refillInBackground(pool);
+            }
+        }
+    }
+
+    long getTarget(AccountType accountType) {
+        return pools.get(accountType).target();
+    }
+
+    private void refillInBackground(Pool pool) {
+        if (!replenishmentProperties.isEnabled() || !pool.refilling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refillExecutor.execute(() -> refill(pool));
+        } catch (RejectedExecutionException e) {
+            pool.refilling.set(false);
+            log.warn("Background refill of free account numbers for {} was rejected", pool.accountType);
+        }
+    }
+
+    private void refill(Pool pool) {
+        try {
+            long target = pool.target();
+            freeAccountNumbersService.getObject().ensureFreeAccountNumbers(pool.accountType, target);
+            pool.level.accumulateAndGet(target, Math::max);
+            pool.refills.increment();
+        } catch (RuntimeException e) {
+            log.error("Failed to refill free account numbers for {}", pool.accountType, e);
+        } finally {
+            pool.refilling.set(false);
+        }
+    }
+
+    private final class Pool {
+
+        private final AccountType accountType;
+        private final AtomicLong level = new AtomicLong();
+        private final AtomicBoolean refilling = new AtomicBoolean();
+        private final Counter exhausted;
+        private final Counter refills;
+        private volatile double ratePerHour;
+        private long lastLevel;
+        private long lastGenerated;
+
+        private Pool(AccountType accountType, MeterRegistry meterRegistry) {
+            this.accountType = accountType;
+            String type = accountType.name();
+            this.exhausted = meterRegistry.counter("account.number.pool.exhausted", "type", type);
+            this.refills = meterRegistry.counter("account.number.pool.refills", "type", type);
+            Gauge.builder("account.number.pool.level", level, AtomicLong::get)
+                    .tag("type", type)
+                    .register(meterRegistry);
+            Gauge.builder("account.number.pool.target", this, Pool::target)
+                    .tag("type", type)
+                    .register(meterRegistry);
+            Gauge.builder("account.number.pool.consumption.rate", this, pool -> pool.ratePerHour)
+                    .tag("type", type)
+                    .baseUnit("numbers/hour")
+                    .register(meterRegistry);
+        }
+
+        private long target() {
+            double coverageHours = replenishmentProperties.getCoverage().toSeconds() / 3600.0;
+            long demand = (long) Math.ceil(ratePerHour * coverageHours);
+            long floor = generationProperties.getMaxAmountByType() == null
+                    ? 0
+                    : generationProperties.getMaxAmountByType().getOrDefault(accountType, 0L);
+            return Math.max(floor, demand);
+        }
+
+        private long lowWatermark() {
+            return (long) (target() * replenishmentProperties.getLowWatermarkRatio());
+        }
+    }
+}
@@ -3,11 +3,12 @@ package faang.school.accountservice.service;
 import faang.school.accountservice.entity.AccountNumberSequence;
 import faang.school.accountservice.entity.FreeAccountNumber;
 import faang.school.accountservice.enums.AccountType;
-import faang.school.accountservice.properties.AccountTypeIdentityProperties;
-import faang.school.accountservice.properties.AccountTypeLengthProperties;
+import faang.school.accountservice.properties.AccountNumberBlockProperties;
 import faang.school.accountservice.repository.AccountNumbersSequenceRepository;
+import faang.school.accountservice.repository.FreeAccountNumberBatchRepository;
 import faang.school.accountservice.repository.FreeAccountNumbersRepository;
-import faang.school.accountservice.validator.FreeAccountNumberValidator;
+import faang.school.accountservice.util.AccountNumberCodec;
+import faang.school.accountservice.util.AccountNumberCodec.CheckDigit;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -15,58 +16,89 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.IntStream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class FreeAccountNumbersService {
 
-    private final AccountTypeIdentityProperties identityProp;
-    private final AccountTypeLengthProperties lengthProp;
+    private static final int CHECK_DIGIT_INSERT_CHUNK = 10_000;
+
     private final FreeAccountNumbersRepository freeAccountNumbersRepository;
+    private final FreeAccountNumberBatchRepository freeAccountNumberBatchRepository;
     private final AccountNumbersSequenceRepository accountNumbersSequenceRepository;
-    private final FreeAccountNumberValidator freeAccountNumberValidator;
+    private final AccountNumberBuilder accountNumberBuilder;
+    private final AccountNumberBlockAllocator accountNumberBlockAllocator;
+    private final AccountNumberBlockProperties blockProperties;
+    private final FreeAccountNumberReplenisher freeAccountNumberReplenisher;
 
     @Transactional
     public void generateFreeAccountNumbers(AccountType accountType, long accountNumbersAmount) {
         log.info("Start generating free account numbers for account type: {}", accountType);
         AccountNumberSequence sequence = accountNumbersSequenceRepository.incrementCounter(accountType.name(), accountNumbersAmount);
         long numberSequence = sequence.getCurrentSequenceValue();
-        int accountNumberLength = getLengthByAccountType(accountType);
-        int accountTypeIdentity = getNumberIdentityByAccountType(accountType);
-
-        freeAccountNumberValidator.validateNumberSequenceIsNotExceeded(numberSequence,
-                accountNumberLength, accountTypeIdentity);
-
-        List<FreeAccountNumber> freeAccountNumbers = new ArrayList<>();
-        for (long tempSequence = numberSequence - accountNumbersAmount + 1; tempSequence <= numberSequence; tempSequence++) {
-            String accountNumber = buildAccountNumber(accountTypeIdentity, tempSequence, accountNumberLength);
-            freeAccountNumbers.add(FreeAccountNumber.builder()
-                    .accountType(accountType)
-                    .accountNumber(accountNumber)
-                    .build());
+        accountNumberBuilder.validateNumberSequenceIsNotExceeded(accountType, numberSequence);
+
+        long firstSequence = numberSequence - accountNumbersAmount + 1;
+        AccountNumberCodec codec = accountNumberBuilder.getCodec(accountType);
+        int generated;
+        if (codec.checkDigit() == CheckDigit.NONE) {
+            String identity = String.valueOf(accountNumberBuilder.getNumberIdentityByAccountType(accountType));
+            int paddedLength = codec.length() - identity.length();
+            generated = freeAccountNumbersRepository.insertSequenceRange(accountType.name(), identity, paddedLength,
+                    firstSequence, numberSequence);
+        } else {
+            generated = insertWithCheckDigits(accountType, codec, firstSequence, numberSequence);
         }
-
-        freeAccountNumbersRepository.saveAll(freeAccountNumbers);
-        log.info("Finished generating free account numbers for account type: {}", accountType);
+        log.info("Finished generating {} free account numbers for account type: {}", generated, accountType);
     }
 
 
     @Transactional
     public String getFreeAccountNumber(AccountType accountType) {
+        if (blockProperties.isEnabled()) {
+            return accountNumberBlockAllocator.nextAccountNumber(accountType);
+        }
         log.info("Start getting free account number for account type: {}", accountType);
         FreeAccountNumber freeAccountNumber =
                 freeAccountNumbersRepository.retrieveFreeAccountNumber(accountType.name());
 
         if (freeAccountNumber == null) {
             log.info("No free account number found for account type: {}.Generating new...", accountType);
+            freeAccountNumberReplenisher.recordExhaustion(accountType);
             generateFreeAccountNumbers(accountType, 1);
             freeAccountNumber = freeAccountNumbersRepository.retrieveFreeAccountNumber(accountType.name());
         }
+        freeAccountNumberReplenisher.recordConsumption(accountType, 1);
         log.info("Finished getting free account number for account type: {}", accountType);
         return freeAccountNumber.getAccountNumber();
     }
 
+    @Transactional
+    public List<String> getFreeAccountNumbers(AccountType accountType, int amount) {
+        if (amount < 1) {
+            throw new IllegalArgumentException("Amount of account numbers must be positive");
+        }
+        if (blockProperties.isEnabled()) {
+            return IntStream.range(0, amount)
+                    .mapToObj(i -> accountNumberBlockAllocator.nextAccountNumber(accountType))
+                    .toList();
+        }
+        List<String> accountNumbers = new ArrayList<>(amount);
+        claimInto(accountNumbers, accountType, amount);
+        if (accountNumbers.size() < amount) {
+            log.info("Only {} of {} free account numbers available for account type: {}. Generating the rest...",
+                    accountNumbers.size(), amount, accountType);
+            freeAccountNumberReplenisher.recordExhaustion(accountType);
+            generateFreeAccountNumbers(accountType, amount - accountNumbers.size());
+            claimInto(accountNumbers, accountType, amount - accountNumbers.size());
+        }
+        freeAccountNumberReplenisher.recordConsumption(accountType, accountNumbers.size());
+        log.info("Claimed {} free account numbers for account type: {}", accountNumbers.size(), accountType);
+        return accountNumbers;
+    }
+
     @Transactional
     public void ensureFreeAccountNumbers(AccountType accountType, long threshold) {
         log.info("Ensuring free account numbers for account type: {}. Threshold: {}", accountType, threshold);
@@ -83,34 +115,25 @@ public class FreeAccountNumbersService {
         }
     }
 
-    private int getLengthByAccountType(AccountType accountType) {
-        return switch (accountType) {
-            case INDIVIDUAL -> lengthProp.getIndividual();
-            case LEGAL -> lengthProp.getLegal();
-            case SAVINGS -> lengthProp.getSavings();
-            case DEBIT -> lengthProp.getDebit();
-        };
-    }
-
-    private int getNumberIdentityByAccountType(AccountType accountType) {
-        return switch (accountType) {
-            case INDIVIDUAL -> identityProp.getIndividual();
-            case LEGAL -> identityProp.getLegal();
-            case SAVINGS -> identityProp.getSavings();
-            case DEBIT -> identityProp.getDebit();
-        };
+    private int insertWithCheckDigits(AccountType accountType, AccountNumberCodec codec,
+                                      long firstSequence, long lastSequence) {
+        List<String> chunk = new ArrayList<>(CHECK_DIGIT_INSERT_CHUNK);
+        for (long sequence = firstSequence; sequence <= lastSequence; sequence++) {
+            chunk.add(codec.format(sequence));
+            if (chunk.size() == CHECK_DIGIT_INSERT_CHUNK) {
+                freeAccountNumberBatchRepository.insertAll(accountType, chunk);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            freeAccountNumberBatchRepository.insertAll(accountType, chunk);
+        }
+        return (int) (lastSequence - firstSequence + 1);
     }
 
-    private String buildAccountNumber(int accountTypeIdentity, long uniqueNumber, int numberLength) {
-        String characterForBuilding = "0";
-        StringBuilder accountNumber = new StringBuilder();
-        accountNumber.append(accountTypeIdentity);
-
-        accountNumber.append((characterForBuilding).
-                repeat(Math.max(0, (numberLength - String.valueOf(accountTypeIdentity).length()))));
-
-        accountNumber.replace(accountNumber.length() - String.valueOf(uniqueNumber).length(),
-                accountNumber.length(), String.valueOf(uniqueNumber));
-        return accountNumber.toString();
+    private void claimInto(List<String> accountNumbers, AccountType accountType, int amount) {
+        freeAccountNumbersRepository.claimFreeAccountNumbers(accountType.name(), amount).stream()
+                .map(FreeAccountNumber::getAccountNumber)
+                .forEach(accountNumbers::add);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,194 @@
+package faang.school.accountservice.service.archive;
+
+import faang.school.accountservice.dto.balance_history.BalanceHistoryEntryDto;
+import faang.school.accountservice.util.Money;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.OptionalLong;
+import java.util.function.Predicate;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+// Memory-mapped segment written by AuditSegmentWriter, safe for concurrent readers
+public final class AuditSegment {
+
+    static final int MAGIC = 0x42415347;
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_BYTES = 2 * Integer.BYTES;
+    static final int FOOTER_BYTES = Long.BYTES + 2 * Integer.BYTES;
+    static final int ROW_BYTES = 6 * Long.BYTES;
+    static final int INDEX_ENTRY_BYTES = 5 * Long.BYTES + 2 * Integer.BYTES;
+    static final String TEMPORARY_SUFFIX = ".tmp";
+
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final long[] accountIds;
+    private final long[] firstCreatedAt;
+    private final long[] lastCreatedAt;
+    private final long[] minActualBalances;
+    private final int[] offsets;
+    private final int[] lengths;
+    private final int[] rowCounts;
+
+    private AuditSegment(Path path, MappedByteBuffer buffer, int blockCount) {
+        this.path = path;
+        this.buffer = buffer;
+        this.accountIds = new long[blockCount];
+        this.firstCreatedAt = new long[blockCount];
+        this.lastCreatedAt = new long[blockCount];
+        this.minActualBalances = new long[blockCount];
+        this.offsets = new int[blockCount];
+        this.lengths = new int[blockCount];
+        this.rowCounts = new int[blockCount];
+    }
+
+    public static AuditSegment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES + FOOTER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Unexpected audit segment size " + size + ": " + path);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            int footer = (int) size - FOOTER_BYTES;
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(footer + Long.BYTES + Integer.BYTES) != MAGIC) {
+                throw new IOException("Not an audit segment: " + path);
+            }
+            if (buffer.getInt(Integer.BYTES) != FORMAT_VERSION) {
+                throw new IOException("Unsupported audit segment version " + buffer.getInt(Integer.BYTES) + ": " + path);
+            }
+
+            AuditSegment segment = new AuditSegment(path, buffer, buffer.getInt(footer + Long.BYTES));
+            int entry = (int) buffer.getLong(footer);
+            for (int i = 0; i < segment.accountIds.length; i++, entry += INDEX_ENTRY_BYTES) {
+                segment.accountIds[i] = buffer.getLong(entry);
+                segment.firstCreatedAt[i] = buffer.getLong(entry + Long.BYTES);
+                segment.lastCreatedAt[i] = buffer.getLong(entry + 2 * Long.BYTES);
+                segment.minActualBalances[i] = buffer.getLong(entry + 3 * Long.BYTES);
+                segment.offsets[i] = (int) buffer.getLong(entry + 4 * Long.BYTES);
+                segment.lengths[i] = buffer.getInt(entry + 5 * Long.BYTES);
+                segment.rowCounts[i] = buffer.getInt(entry + 5 * Long.BYTES + Integer.BYTES);
+            }
+            return segment;
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    // Returns false if the visitor stopped the iteration
+    public boolean forEachDescending(long accountId, LocalDateTime beforeCreatedAt, Long beforeId,
+                                     Predicate<BalanceHistoryEntryDto> visitor) {
+        long before = beforeCreatedAt == null ? Long.MAX_VALUE : toEpochMicros(beforeCreatedAt);
+        for (int block = upperBound(accountId) - 1; block >= 0 && accountIds[block] == accountId; block--) {
+            if (firstCreatedAt[block] > before) {
+                continue;
+            }
+            ByteBuffer rows = inflate(block);
+            for (int row = rowCounts[block] - 1; row >= 0; row--) {
+                int base = row * ROW_BYTES;
+                long createdAt = rows.getLong(base + 3 * Long.BYTES);
+                long id = rows.getLong(base);
+                if (createdAt > before || (createdAt == before && beforeId != null && id >= beforeId)) {
+                    continue;
+                }
+                if (!visitor.test(readEntry(rows, base))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    public OptionalLong findMinimalActualBalance(long accountId, LocalDateTime from, LocalDateTime toExclusive) {
+        long fromMicros = toEpochMicros(from);
+        long toMicros = toEpochMicros(toExclusive);
+        long min = Long.MAX_VALUE;
+        boolean found = false;
+        for (int block = lowerBound(accountId); block < accountIds.length && accountIds[block] == accountId; block++) {
+            if (lastCreatedAt[block] < fromMicros || firstCreatedAt[block] >= toMicros) {
+                continue;
+            }
+            if (firstCreatedAt[block] >= fromMicros && lastCreatedAt[block] < toMicros) {
+                min = Math.min(min, minActualBalances[block]);
+                found = true;
+                continue;
+            }
+            ByteBuffer rows = inflate(block);
+            for (int base = 0; base < rowCounts[block] * ROW_BYTES; base += ROW_BYTES) {
+                long createdAt = rows.getLong(base + 3 * Long.BYTES);
+                if (createdAt >= fromMicros && createdAt < toMicros) {
+                    min = Math.min(min, rows.getLong(base + 5 * Long.BYTES));
+                    found = true;
+                }
+            }
+        }
+        return found ? OptionalLong.of(min) : OptionalLong.empty();
+    }
+
+    static long toEpochMicros(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + dateTime.getNano() / 1_000;
+    }
+
+    static LocalDateTime fromEpochMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000),
+                (int) Math.floorMod(micros, 1_000_000) * 1_000, ZoneOffset.UTC);
+    }
+
+    private BalanceHistoryEntryDto readEntry(ByteBuffer rows, int base) {
+        return BalanceHistoryEntryDto.builder()
+                .id(rows.getLong(base))
+                .balanceVersion(rows.getLong(base + Long.BYTES))
+                .operationId(rows.getLong(base + 2 * Long.BYTES))
+                .createdAt(fromEpochMicros(rows.getLong(base + 3 * Long.BYTES)))
+                .authorizationBalance(Money.toDecimal(rows.getLong(base + 4 * Long.BYTES)))
+                .actualBalance(Money.toDecimal(rows.getLong(base + 5 * Long.BYTES)))
+                .build();
+    }
+
+    private ByteBuffer inflate(int block) {
+        byte[] rows = new byte[rowCounts[block] * ROW_BYTES];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(buffer.slice(offsets[block], lengths[block]));
+            int inflated = 0;
+            while (inflated < rows.length) {
+                int length = inflater.inflate(rows, inflated, rows.length - inflated);
+                if (length == 0 && (inflater.finished() || inflater.needsInput())) {
+                    throw new IllegalStateException("Truncated block " + block + " in audit segment " + path);
+                }
+                inflated += length;
+            }
+            return ByteBuffer.wrap(rows);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupted block " + block + " in audit segment " + path, e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private int lowerBound(long accountId) {
+        int low = 0;
+        int high = accountIds.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (accountIds[middle] < accountId) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int upperBound(long accountId) {
+        return lowerBound(accountId + 1);
+    }
+}
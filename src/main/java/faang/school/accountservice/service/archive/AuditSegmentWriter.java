@@ -0,0 +1,150 @@
+package faang.school.accountservice.service.archive;
+
+import faang.school.accountservice.dto.balance_history.BalanceHistoryEntryDto;
+import faang.school.accountservice.util.Money;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.Deflater;
+
+// Rows must be appended ordered by account id and creation time
+public final class AuditSegmentWriter implements Closeable {
+
+    private final Path target;
+    private final Path temporary;
+    private final FileChannel channel;
+    private final int blockRows;
+    private final ByteBuffer block;
+    private ByteBuffer index;
+    private final Deflater deflater = new Deflater();
+    private final byte[] compressed = new byte[64 * 1024];
+
+    private long position;
+    private int blockCount;
+    private int rows;
+    private long blockAccountId;
+    private long blockFirstCreatedAt;
+    private long blockLastCreatedAt;
+    private long blockMinActualBalance;
+    private long lastAccountId = Long.MIN_VALUE;
+    private boolean committed;
+
+    private AuditSegmentWriter(Path target, FileChannel channel, Path temporary, int blockRows) {
+        this.target = target;
+        this.temporary = temporary;
+        this.channel = channel;
+        this.blockRows = blockRows;
+        this.block = ByteBuffer.allocate(blockRows * AuditSegment.ROW_BYTES);
+        this.index = ByteBuffer.allocate(1024 * AuditSegment.INDEX_ENTRY_BYTES);
+    }
+
+    public static AuditSegmentWriter create(Path target, int blockRows) throws IOException {
+        Path temporary = target.resolveSibling(target.getFileName() + AuditSegment.TEMPORARY_SUFFIX);
+        FileChannel channel = FileChannel.open(temporary,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        AuditSegmentWriter writer = new AuditSegmentWriter(target, channel, temporary, blockRows);
+        writer.write(ByteBuffer.allocate(AuditSegment.HEADER_BYTES)
+                .putInt(AuditSegment.MAGIC)
+                .putInt(AuditSegment.FORMAT_VERSION)
+                .flip());
+        return writer;
+    }
+
+    public void append(long accountId, BalanceHistoryEntryDto entry) throws IOException {
+        if (accountId < lastAccountId) {
+            throw new IllegalArgumentException("Audits must be appended in account id order");
+        }
+        if (rows > 0 && (accountId != blockAccountId || rows == blockRows)) {
+            flushBlock();
+        }
+        long createdAt = AuditSegment.toEpochMicros(entry.getCreatedAt());
+        long actualBalance = Money.toMinorUnits(entry.getActualBalance());
+        if (rows == 0) {
+            blockAccountId = accountId;
+            blockFirstCreatedAt = createdAt;
+            blockMinActualBalance = actualBalance;
+        }
+        block.putLong(entry.getId())
+                .putLong(entry.getBalanceVersion())
+                .putLong(entry.getOperationId())
+                .putLong(createdAt)
+                .putLong(Money.toMinorUnits(entry.getAuthorizationBalance()))
+                .putLong(actualBalance);
+        blockLastCreatedAt = createdAt;
+        blockMinActualBalance = Math.min(blockMinActualBalance, actualBalance);
+        lastAccountId = accountId;
+        rows++;
+    }
+
+    public long size() {
+        return position + block.position();
+    }
+
+    public void commit() throws IOException {
+        if (rows > 0) {
+            flushBlock();
+        }
+        long indexOffset = position;
+        write(index.flip());
+        write(ByteBuffer.allocate(AuditSegment.FOOTER_BYTES)
+                .putLong(indexOffset)
+                .putInt(blockCount)
+                .putInt(AuditSegment.MAGIC)
+                .flip());
+        channel.force(true);
+        channel.close();
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        committed = true;
+    }
+
+    public Path getTarget() {
+        return target;
+    }
+
+    @Override
+    public void close() throws IOException {
+        deflater.end();
+        if (!committed) {
+            channel.close();
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private void flushBlock() throws IOException {
+        long blockOffset = position;
+        deflater.reset();
+        deflater.setInput(block.flip());
+        deflater.finish();
+        while (!deflater.finished()) {
+            int length = deflater.deflate(compressed);
+            write(ByteBuffer.wrap(compressed, 0, length));
+        }
+        block.clear();
+
+        if (index.remaining() < AuditSegment.INDEX_ENTRY_BYTES) {
+            ByteBuffer grown = ByteBuffer.allocate(index.capacity() * 2);
+            index = grown.put(index.flip());
+        }
+        index.putLong(blockAccountId)
+                .putLong(blockFirstCreatedAt)
+                .putLong(blockLastCreatedAt)
+                .putLong(blockMinActualBalance)
+                .putLong(blockOffset)
+                .putInt((int) (position - blockOffset))
+                .putInt(rows);
+        blockCount++;
+        rows = 0;
+    }
+
+    private void write(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer);
+        }
+    }
+}
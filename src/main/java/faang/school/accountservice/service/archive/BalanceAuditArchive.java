@@ -0,0 +1,185 @@
+package faang.school.accountservice.service.archive;
+
+import faang.school.accountservice.dto.balance_history.BalanceHistoryEntryDto;
+import faang.school.accountservice.properties.balance.BalanceArchiveProperties;
+import faang.school.accountservice.repository.BalanceAuditArchiveRepository;
+import faang.school.accountservice.util.Money;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+public class BalanceAuditArchive {
+
+    static final String SEGMENT_SUFFIX = ".seg";
+    static final String PENDING_SUFFIX = ".pending";
+    private static final String SEGMENT_PREFIX = "balance_audit_";
+    private static final DateTimeFormatter SEGMENT_MONTH = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final Path directory;
+    private final BalanceAuditArchiveRepository archiveRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ConcurrentSkipListMap<String, AuditSegment> segments = new ConcurrentSkipListMap<>();
+
+    public BalanceAuditArchive(BalanceArchiveProperties archiveProperties,
+                               BalanceAuditArchiveRepository archiveRepository,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry) {
+        this.directory = Paths.get(archiveProperties.getDirectory());
+        this.archiveRepository = archiveRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        meterRegistry.gauge("balance.archive.segments", segments, ConcurrentSkipListMap::size);
+    }
+
+    @PostConstruct
+    public void loadSegments() {
+        try {
+            for (Path file : listFiles()) {
+                if (file.getFileName().toString().endsWith(SEGMENT_SUFFIX + AuditSegment.TEMPORARY_SUFFIX)) {
+                    Files.delete(file);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load balance audit segments from " + directory, e);
+        }
+        refreshSegments();
+        log.info("{} balance audit segments loaded from {}", segments.size(), directory);
+    }
+
+    public synchronized void refreshSegments() {
+        for (Path file : listFiles()) {
+            String name = file.getFileName().toString();
+            try {
+                if (name.endsWith(SEGMENT_SUFFIX + PENDING_SUFFIX)) {
+                    resolvePending(file);
+                } else if (name.endsWith(SEGMENT_SUFFIX) && !segments.containsKey(name)) {
+                    register(file);
+                }
+            } catch (IOException | RuntimeException e) {
+                log.error("Balance audit segment {} could not be loaded", file, e);
+            }
+        }
+    }
+
+    public Path pendingSegmentPath(String segmentName) throws IOException {
+        Files.createDirectories(directory);
+        return directory.resolve(segmentName + SEGMENT_SUFFIX + PENDING_SUFFIX);
+    }
+
+    public synchronized void promote(Path pendingFile) throws IOException {
+        String pendingName = pendingFile.getFileName().toString();
+        Path segmentFile = pendingFile.resolveSibling(
+                pendingName.substring(0, pendingName.length() - PENDING_SUFFIX.length()));
+        if (Files.exists(pendingFile)) {
+            Files.move(pendingFile, segmentFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }
+        if (!segments.containsKey(segmentFile.getFileName().toString())) {
+            register(segmentFile);
+        }
+    }
+
+    private void register(Path segmentFile) throws IOException {
+        segments.put(segmentFile.getFileName().toString(), AuditSegment.open(segmentFile));
+    }
+
+    // A pending segment is only valid once the DROP of its monthly table has committed
+    private void resolvePending(Path pendingFile) throws IOException {
+        String name = pendingFile.getFileName().toString();
+        String tableName = name.substring(0, name.indexOf('.'));
+        Boolean dropped = transactionTemplate.execute(status -> archiveRepository.tryLockTable(tableName)
+                ? !archiveRepository.tableExists(tableName)
+                : null);
+        if (dropped == null) {
+            return;
+        }
+        if (dropped) {
+            promote(pendingFile);
+        } else {
+            Files.deleteIfExists(pendingFile);
+            log.warn("Discarded balance audit segment {} because table {} was not dropped", name, tableName);
+        }
+    }
+
+    private List<Path> listFiles() {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list balance audit segments in " + directory, e);
+        }
+    }
+
+    // Archived months form a prefix, so no hot audit is older than the month after the newest segment
+    public LocalDateTime findHotBoundary() {
+        if (segments.isEmpty()) {
+            return LocalDate.EPOCH.atStartOfDay();
+        }
+        String newest = segments.lastKey();
+        return YearMonth.parse(newest.substring(SEGMENT_PREFIX.length(), newest.indexOf('.')), SEGMENT_MONTH)
+                .plusMonths(1)
+                .atDay(1)
+                .atStartOfDay();
+    }
+
+    public List<BalanceHistoryEntryDto> findHistory(long accountId, LocalDateTime beforeCreatedAt, Long beforeId,
+                                                    int limit) {
+        List<BalanceHistoryEntryDto> entries = new ArrayList<>(Math.min(limit, 1024));
+        if (limit <= 0) {
+            return entries;
+        }
+        for (AuditSegment segment : segments.descendingMap().values()) {
+            boolean more = segment.forEachDescending(accountId, beforeCreatedAt, beforeId, entry -> {
+                entries.add(entry);
+                return entries.size() < limit;
+            });
+            if (!more) {
+                break;
+            }
+        }
+        return entries;
+    }
+
+    public void streamHistory(long accountId, Consumer<BalanceHistoryEntryDto> consumer) {
+        for (AuditSegment segment : segments.descendingMap().values()) {
+            segment.forEachDescending(accountId, null, null, entry -> {
+                consumer.accept(entry);
+                return true;
+            });
+        }
+    }
+
+    public Optional<BigDecimal> findMinimalActualBalance(long accountId, LocalDateTime from,
+                                                         LocalDateTime toExclusive) {
+        return segments.values().stream()
+                .map(segment -> segment.findMinimalActualBalance(accountId, from, toExclusive))
+                .filter(OptionalLong::isPresent)
+                .map(OptionalLong::getAsLong)
+                .min(Long::compare)
+                .map(Money::toDecimal);
+    }
+}
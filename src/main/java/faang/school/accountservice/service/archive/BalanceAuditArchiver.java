@@ -0,0 +1,153 @@
+package faang.school.accountservice.service.archive;
+
+import faang.school.accountservice.properties.balance.BalanceArchiveProperties;
+import faang.school.accountservice.repository.BalanceAuditArchiveRepository;
+import faang.school.accountservice.repository.BalanceAuditArchiveRepository.MonthlyTable;
+import faang.school.accountservice.repository.BalanceAuditPartitionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Service
+public class BalanceAuditArchiver {
+
+    private static final String ARCHIVER_LOCK = "balance_audit_archiver";
+
+    private final BalanceAuditArchiveRepository archiveRepository;
+    private final BalanceAuditPartitionRepository partitionRepository;
+    private final BalanceAuditArchive balanceAuditArchive;
+    private final BalanceArchiveProperties archiveProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter archivedRows;
+
+    public BalanceAuditArchiver(BalanceAuditArchiveRepository archiveRepository,
+                                BalanceAuditPartitionRepository partitionRepository,
+                                BalanceAuditArchive balanceAuditArchive,
+                                BalanceArchiveProperties archiveProperties,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry) {
+        this.archiveRepository = archiveRepository;
+        this.partitionRepository = partitionRepository;
+        this.balanceAuditArchive = balanceAuditArchive;
+        this.archiveProperties = archiveProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.archivedRows = meterRegistry.counter("balance.archive.rows");
+    }
+
+    public synchronized int archiveExpiredMonths(YearMonth currentMonth) {
+        if (!Paths.get(archiveProperties.getDirectory()).isAbsolute()) {
+            throw new IllegalStateException(
+                    "account.balance.archive.directory must be an absolute path on shared persistent storage");
+        }
+        int[] archived = new int[1];
+        if (!archiveRepository.runExclusively(ARCHIVER_LOCK, () -> archived[0] = archiveMonths(currentMonth))) {
+            log.info("Balance audit archiving is already running on another node");
+        }
+        return archived[0];
+    }
+
+    private int archiveMonths(YearMonth currentMonth) {
+        YearMonth oldestRetainedMonth = currentMonth.minusMonths(archiveProperties.getRetentionMonths());
+        int archived = 0;
+        for (MonthlyTable table : archiveRepository.findMonthlyTables()) {
+            if (!table.month().isBefore(oldestRetainedMonth)) {
+                continue;
+            }
+            try {
+                if (archiveMonth(table)) {
+                    archived++;
+                }
+            } catch (RuntimeException e) {
+                log.error("Failed to archive balance audit table {}, later months wait for the next run",
+                        table.name(), e);
+                break;
+            }
+        }
+        return archived;
+    }
+
+    private boolean archiveMonth(MonthlyTable table) {
+        if (table.attached()) {
+            partitionRepository.detachPartition(table.name());
+        }
+        List<Path> segments = transactionTemplate.execute(status -> {
+            if (!archiveRepository.tryLockTable(table.name()) || !archiveRepository.tableExists(table.name())) {
+                return List.of();
+            }
+            List<Path> written = writeSegments(table.name());
+            archiveRepository.dropTable(table.name());
+            return written;
+        });
+        if (segments == null || segments.isEmpty()) {
+            return false;
+        }
+        for (Path segment : segments) {
+            try {
+                balanceAuditArchive.promote(segment);
+            } catch (IOException e) {
+                log.error("Archived balance audit segment {} could not be promoted", segment, e);
+            }
+        }
+        log.info("Balance audit table {} is archived into {} segments", table.name(), segments.size());
+        return true;
+    }
+
+    private List<Path> writeSegments(String tableName) {
+        List<Path> written = new ArrayList<>();
+        AuditSegmentWriter[] writer = new AuditSegmentWriter[1];
+        long maxSegmentBytes = archiveProperties.getMaxSegmentSize().toBytes();
+        try {
+            archiveRepository.streamTable(tableName, archiveProperties.getFetchSize(), (accountId, entry) -> {
+                try {
+                    if (writer[0] != null && writer[0].size() >= maxSegmentBytes) {
+                        commit(writer[0], written);
+                        writer[0] = null;
+                    }
+                    if (writer[0] == null) {
+                        String segmentName = "%s.%03d".formatted(tableName, written.size());
+                        writer[0] = AuditSegmentWriter.create(balanceAuditArchive.pendingSegmentPath(segmentName),
+                                archiveProperties.getBlockRows());
+                    }
+                    writer[0].append(accountId, entry);
+                    archivedRows.increment();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            if (writer[0] != null) {
+                commit(writer[0], written);
+                writer[0] = null;
+            }
+            return written;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (writer[0] != null) {
+                try {
+                    writer[0].close();
+                } catch (IOException e) {
+                    log.warn("Failed to discard unfinished balance audit segment", e);
+                }
+            }
+        }
+    }
+
+    private void commit(AuditSegmentWriter writer, List<Path> written) throws IOException {
+        try (writer) {
+            writer.commit();
+        }
+        written.add(writer.getTarget());
+    }
+}
@@ -0,0 +1,62 @@
+package faang.school.accountservice.service.hold;
+
+import faang.school.accountservice.properties.balance.BalanceHoldProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+public class BalanceHoldExpiryWheel {
+
+    private final HierarchicalTimingWheel<HoldKey> wheel;
+    private final List<HoldKey> overdue = new ArrayList<>();
+
+    public BalanceHoldExpiryWheel(BalanceHoldProperties holdProperties, MeterRegistry meterRegistry) {
+        this.wheel = new HierarchicalTimingWheel<>(holdProperties.getTick().toMillis(),
+                holdProperties.getWheelSize(), System.currentTimeMillis());
+        meterRegistry.gauge("balance.holds.scheduled", this, BalanceHoldExpiryWheel::size);
+    }
+
+    public synchronized void schedule(HoldKey hold, LocalDateTime expiresAt) {
+        if (!wheel.add(hold, toEpochMillis(expiresAt))) {
+            overdue.add(hold);
+        }
+    }
+
+    public void scheduleAfterCommit(HoldKey hold, LocalDateTime expiresAt) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            schedule(hold, expiresAt);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                schedule(hold, expiresAt);
+            }
+        });
+    }
+
+    public synchronized List<HoldKey> pollExpired(long nowMillis) {
+        List<HoldKey> expired = new ArrayList<>(overdue);
+        overdue.clear();
+        wheel.advance(nowMillis, expired::add);
+        return expired;
+    }
+
+    public synchronized int size() {
+        return wheel.size() + overdue.size();
+    }
+
+    private long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    public record HoldKey(long accountId, long operationId) {
+    }
+}
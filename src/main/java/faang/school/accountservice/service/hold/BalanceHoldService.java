@@ -0,0 +1,102 @@
+package faang.school.accountservice.service.hold;
+
+import faang.school.accountservice.config.datasource.PrimaryDataSourceHint;
+import faang.school.accountservice.dto.BalanceDto;
+import faang.school.accountservice.dto.hold.HoldDto;
+import faang.school.accountservice.enums.HoldStatus;
+import faang.school.accountservice.exception.HoldConflictException;
+import faang.school.accountservice.properties.balance.BalanceHoldProperties;
+import faang.school.accountservice.repository.BalanceHoldRepository;
+import faang.school.accountservice.service.BalanceService;
+import faang.school.accountservice.service.hold.BalanceHoldExpiryWheel.HoldKey;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BalanceHoldService {
+
+    private final BalanceHoldRepository balanceHoldRepository;
+    private final BalanceService balanceService;
+    private final BalanceHoldExpiryWheel expiryWheel;
+    private final BalanceHoldProperties holdProperties;
+
+    @Transactional
+    public BalanceDto placeHold(long accountId, HoldDto holdDto) {
+        LocalDateTime expiresAt = Optional.ofNullable(holdDto.getExpiresAt())
+                .orElseGet(() -> LocalDateTime.now().plus(holdProperties.getDefaultTtl()));
+        if (!balanceHoldRepository.create(accountId, holdDto.getOperationId(), holdDto.getAmount(), expiresAt)) {
+            throw new HoldConflictException("Hold with operation id %d already exists for account %d"
+                    .formatted(holdDto.getOperationId(), accountId));
+        }
+        BalanceDto balance = balanceService.applyDelta(accountId, holdDto.getOperationId(),
+                BigDecimal.ZERO, holdDto.getAmount().negate());
+        expiryWheel.scheduleAfterCommit(new HoldKey(accountId, holdDto.getOperationId()), expiresAt);
+        log.info("Hold {} of {} placed on account {} until {}", holdDto.getOperationId(), holdDto.getAmount(),
+                accountId, expiresAt);
+        return balance;
+    }
+
+    @Transactional
+    public BalanceDto captureHold(long accountId, long operationId) {
+        BigDecimal amount = closeOpenHold(accountId, operationId, HoldStatus.CAPTURED);
+        log.info("Hold {} of account {} captured", operationId, accountId);
+        return balanceService.applyDelta(accountId, operationId, amount.negate(), amount);
+    }
+
+    @Transactional
+    public BalanceDto releaseHold(long accountId, long operationId) {
+        BigDecimal amount = closeOpenHold(accountId, operationId, HoldStatus.RELEASED);
+        log.info("Hold {} of account {} released", operationId, accountId);
+        return balanceService.applyDelta(accountId, operationId, BigDecimal.ZERO, amount);
+    }
+
+    @Transactional
+    public boolean expireHold(long accountId, long operationId) {
+        Optional<BigDecimal> amount = balanceHoldRepository.closeOpenHold(accountId, operationId, HoldStatus.EXPIRED);
+        if (amount.isEmpty()) {
+            return false;
+        }
+        balanceService.applyDelta(accountId, operationId, BigDecimal.ZERO, amount.get());
+        log.info("Hold {} of account {} expired", operationId, accountId);
+        return true;
+    }
+
+    @Transactional(readOnly = true)
+    public void loadOpenHolds() {
+        PrimaryDataSourceHint.runOnPrimary(() -> balanceHoldRepository.forEachOpenHold(
+                holdProperties.getLoadFetchSize(),
+                (accountId, operationId, expiresAt) ->
+                        expiryWheel.schedule(new HoldKey(accountId, operationId), expiresAt)));
+        log.info("{} open holds scheduled for expiry", expiryWheel.size());
+    }
+
+    // Holds whose wheel died with their node; the grace keeps the sweep out of the live wheels' way
+    @Transactional(readOnly = true)
+    public List<HoldKey> findOrphanedHolds() {
+        LocalDateTime expiredBefore = LocalDateTime.now().minus(holdProperties.getOrphanGrace());
+        List<HoldKey> orphanedHolds = new ArrayList<>();
+        PrimaryDataSourceHint.runOnPrimary(() -> balanceHoldRepository.forEachExpiredOpenHold(expiredBefore,
+                holdProperties.getSweepBatchSize(),
+                (accountId, operationId, expiresAt) -> orphanedHolds.add(new HoldKey(accountId, operationId))));
+        return orphanedHolds;
+    }
+
+    private BigDecimal closeOpenHold(long accountId, long operationId, HoldStatus status) {
+        return balanceHoldRepository.closeOpenHold(accountId, operationId, status)
+                .orElseThrow(() -> balanceHoldRepository.findStatus(accountId, operationId)
+                        .<RuntimeException>map(current -> new HoldConflictException(
+                                "Hold %d of account %d is already %s".formatted(operationId, accountId, current)))
+                        .orElseGet(() -> new EntityNotFoundException("Hold not found")));
+    }
+}
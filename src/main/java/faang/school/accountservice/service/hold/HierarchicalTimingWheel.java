@@ -0,0 +1,92 @@
+package faang.school.accountservice.service.hold;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Not thread-safe: callers serialize access
+public class HierarchicalTimingWheel<T> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final long intervalMillis;
+    private final List<Deque<Entry<T>>> buckets;
+    private long currentTime;
+    private HierarchicalTimingWheel<T> overflowWheel;
+    private int size;
+
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException("Tick must be positive and wheel size at least 2");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.intervalMillis = tickMillis * wheelSize;
+        this.currentTime = startMillis - Math.floorMod(startMillis, tickMillis);
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(new ArrayDeque<>());
+        }
+    }
+
+    // Returns false without scheduling when the deadline is already due
+    public boolean add(T item, long deadlineMillis) {
+        long roundedDeadline = deadlineMillis + Math.floorMod(-deadlineMillis, tickMillis);
+        if (!insert(new Entry<>(item, roundedDeadline))) {
+            return false;
+        }
+        size++;
+        return true;
+    }
+
+    public void advance(long nowMillis, Consumer<T> onExpired) {
+        advanceTo(nowMillis, entry -> {
+            if (!insert(entry)) {
+                size--;
+                onExpired.accept(entry.item());
+            }
+        });
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private boolean insert(Entry<T> entry) {
+        if (entry.deadlineMillis() < currentTime + tickMillis) {
+            return false;
+        }
+        if (entry.deadlineMillis() < currentTime + intervalMillis) {
+            buckets.get((int) ((entry.deadlineMillis() / tickMillis) % wheelSize)).add(entry);
+            return true;
+        }
+        return overflowWheel().insert(entry);
+    }
+
+    private void advanceTo(long nowMillis, Consumer<Entry<T>> reinsert) {
+        while (nowMillis >= currentTime + tickMillis) {
+            currentTime += tickMillis;
+            Deque<Entry<T>> bucket = buckets.get((int) ((currentTime / tickMillis) % wheelSize));
+            if (!bucket.isEmpty()) {
+                List<Entry<T>> due = new ArrayList<>(bucket);
+                bucket.clear();
+                due.forEach(reinsert);
+            }
+            if (overflowWheel != null) {
+                overflowWheel.advanceTo(currentTime, reinsert);
+            }
+        }
+    }
+
+    private HierarchicalTimingWheel<T> overflowWheel() {
+        if (overflowWheel == null) {
+            overflowWheel = new HierarchicalTimingWheel<>(intervalMillis, wheelSize, currentTime);
+        }
+        return overflowWheel;
+    }
+
+    private record Entry<T>(T item, long deadlineMillis) {
+    }
+}
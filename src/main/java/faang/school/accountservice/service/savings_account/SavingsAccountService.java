@@ -13,7 +13,7 @@ import faang.school.accountservice.mapper.savings_account.SavingsAccountMapper;
 import faang.school.accountservice.repository.savings_account.SavingsAccountRepository;
 import faang.school.accountservice.service.AccountService;
 import faang.school.accountservice.service.BalanceAuditService;
-import faang.school.accountservice.service.BalanceService;
+import faang.school.accountservice.service.BalancePostingSequencer;
 import faang.school.accountservice.service.calculators.InterestCalculationHelper;
 import faang.school.accountservice.service.tariff.TariffService;
 import jakarta.persistence.EntityNotFoundException;
@@ -45,7 +45,7 @@ public class SavingsAccountService {
     private final AccountService accountService;
     private final TariffService tariffService;
     private final SavingsAccountRepository savingsAccountRepository;
-    private final BalanceService balanceService;
+    private final BalancePostingSequencer balancePostingSequencer;
     private final BalanceAuditService balanceAuditService;
     private final InterestCalculationHelper interestCalculationHelper;
 
@@ -123,7 +123,7 @@ public class SavingsAccountService {
             if (canAccrueInterest(savingsAccount, interestStartDate)) {
                 BigDecimal minimalActualBalanceForPeriod = getMinimalActualBalanceForPeriod(savingsAccount, interestStartDate, interestEndDate);
                 BigDecimal balanceToAdd = interestCalculationHelper.calculateBalanceInterest(minimalActualBalanceForPeriod, savingsAccount.getTariff());
-                balanceService.updateBalance(savingsAccount.getAccount().getId(), createTransactionDtoForInterest(balanceToAdd));
+                balancePostingSequencer.post(savingsAccount.getAccount().getId(), createTransactionDtoForInterest(balanceToAdd, interestEndDate));
                 savingsAccount.setLastInterestDate(LocalDateTime.now());
                 savingsAccountRepository.save(savingsAccount);
                 log.info("Interest accrual completed for Savings account with ID={}. Amount added: {}", savingsAccount.getId(), balanceToAdd);
@@ -151,9 +151,9 @@ public class SavingsAccountService {
         return pendingMinimalActualBalanceForPeriod.orElse(savingsAccount.getAccount().getBalance().getActualBalance());
     }
 
-    private TransactionDto createTransactionDtoForInterest(BigDecimal amountToAdd) {
+    private TransactionDto createTransactionDtoForInterest(BigDecimal amountToAdd, LocalDateTime interestEndDate) {
         return TransactionDto.builder()
-                .operationId(1L)
+                .operationId(-interestEndDate.toLocalDate().toEpochDay())
                 .amount(amountToAdd)
                 .operationType(OperationType.CLEARING)
                 .build();
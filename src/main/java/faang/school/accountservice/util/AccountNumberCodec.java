@@ -0,0 +1,172 @@
+package faang.school.accountservice.util;
+
+public final class AccountNumberCodec {
+
+    public enum CheckDigit {
+        NONE(0),
+        LUHN(1),
+        MOD_97(2);
+
+        private final int length;
+
+        CheckDigit(int length) {
+            this.length = length;
+        }
+
+        public int getLength() {
+            return length;
+        }
+    }
+
+    private final char[] identity;
+    private final int length;
+    private final int sequenceDigits;
+    private final long sequenceLimit;
+    private final CheckDigit checkDigit;
+    private final ThreadLocal<char[]> buffers;
+
+    public AccountNumberCodec(int identity, int length, CheckDigit checkDigit) {
+        if (identity <= 0) {
+            throw new IllegalArgumentException("Account type identity must be positive: " + identity);
+        }
+        this.identity = Integer.toString(identity).toCharArray();
+        this.length = length;
+        this.checkDigit = checkDigit;
+        this.sequenceDigits = length - this.identity.length - checkDigit.getLength();
+        if (sequenceDigits < 1) {
+            throw new IllegalArgumentException("Account number length " + length + " leaves no room for a sequence");
+        }
+        this.sequenceLimit = sequenceDigits >= 19 ? Long.MAX_VALUE : pow10(sequenceDigits);
+        this.buffers = ThreadLocal.withInitial(() -> new char[length]);
+    }
+
+    public static int digits(long value) {
+        int digits = 1;
+        while (value >= 10 || value <= -10) {
+            value /= 10;
+            digits++;
+        }
+        return digits;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public CheckDigit checkDigit() {
+        return checkDigit;
+    }
+
+    public boolean fits(long sequence) {
+        return sequence >= 0 && sequence < sequenceLimit;
+    }
+
+    // Returns the index right after the last written character
+    public int encode(long sequence, char[] destination, int offset) {
+        if (!fits(sequence)) {
+            throw new IllegalArgumentException("Sequence " + sequence + " does not fit into " + sequenceDigits + " digits");
+        }
+        System.arraycopy(identity, 0, destination, offset, identity.length);
+        int payloadEnd = offset + identity.length + sequenceDigits;
+        long remaining = sequence;
+        for (int i = payloadEnd - 1; i >= offset + identity.length; i--) {
+            destination[i] = (char) ('0' + remaining % 10);
+            remaining /= 10;
+        }
+        switch (checkDigit) {
+            case LUHN -> destination[payloadEnd] = (char) ('0' + luhn(destination, offset, payloadEnd));
+            case MOD_97 -> {
+                int check = mod97(destination, offset, payloadEnd);
+                destination[payloadEnd] = (char) ('0' + check / 10);
+                destination[payloadEnd + 1] = (char) ('0' + check % 10);
+            }
+            case NONE -> {
+            }
+        }
+        return offset + length;
+    }
+
+    public String format(long sequence) {
+        char[] buffer = buffers.get();
+        encode(sequence, buffer, 0);
+        return new String(buffer);
+    }
+
+    public boolean isValid(CharSequence accountNumber) {
+        return decode(accountNumber) >= 0;
+    }
+
+    public long parseSequence(CharSequence accountNumber) {
+        long sequence = decode(accountNumber);
+        if (sequence < 0) {
+            throw new IllegalArgumentException("Invalid account number: " + accountNumber);
+        }
+        return sequence;
+    }
+
+    private long decode(CharSequence accountNumber) {
+        if (accountNumber == null || accountNumber.length() != length) {
+            return -1;
+        }
+        char[] buffer = buffers.get();
+        for (int i = 0; i < length; i++) {
+            char c = accountNumber.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            buffer[i] = c;
+        }
+        for (int i = 0; i < identity.length; i++) {
+            if (buffer[i] != identity[i]) {
+                return -1;
+            }
+        }
+        int payloadEnd = identity.length + sequenceDigits;
+        boolean checkMatches = switch (checkDigit) {
+            case NONE -> true;
+            case LUHN -> buffer[payloadEnd] - '0' == luhn(buffer, 0, payloadEnd);
+            case MOD_97 -> (buffer[payloadEnd] - '0') * 10 + (buffer[payloadEnd + 1] - '0') == mod97(buffer, 0, payloadEnd);
+        };
+        if (!checkMatches) {
+            return -1;
+        }
+        long sequence = 0;
+        for (int i = identity.length; i < payloadEnd; i++) {
+            sequence = sequence * 10 + (buffer[i] - '0');
+        }
+        return sequence;
+    }
+
+    private static int luhn(char[] digits, int from, int to) {
+        int sum = 0;
+        boolean doubled = true;
+        for (int i = to - 1; i >= from; i--) {
+            int digit = digits[i] - '0';
+            if (doubled) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubled = !doubled;
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    private static int mod97(char[] digits, int from, int to) {
+        int remainder = 0;
+        for (int i = from; i < to; i++) {
+            remainder = (remainder * 10 + (digits[i] - '0')) % 97;
+        }
+        return 98 - (remainder * 100) % 97;
+    }
+
+    private static long pow10(int exponent) {
+        long value = 1;
+        for (int i = 0; i < exponent; i++) {
+            value *= 10;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,25 @@
+package faang.school.accountservice.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+// Amounts in minor units (cents) for in-memory balance arithmetic
+public final class Money {
+
+    public static final int SCALE = 2;
+
+    private Money() {
+    }
+
+    public static long toMinorUnits(BigDecimal amount) {
+        return amount.setScale(SCALE, RoundingMode.HALF_UP).movePointRight(SCALE).longValueExact();
+    }
+
+    public static BigDecimal toDecimal(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    public static long add(long augend, long addend) {
+        return Math.addExact(augend, addend);
+    }
+}
@@ -1,5 +1,6 @@
 package faang.school.accountservice.validator;
 
+import faang.school.accountservice.util.AccountNumberCodec;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -8,9 +9,9 @@ public class FreeAccountNumberValidator {
     public void validateNumberSequenceIsNotExceeded(long numberSequence,
                                                     int accountNumberLength,
                                                     int accountTypeIdentity) {
-        if (Long.toString(numberSequence).length() >
-                (accountNumberLength - Integer.toString(accountTypeIdentity).length())) {
+        if (AccountNumberCodec.digits(numberSequence) >
+                (accountNumberLength - AccountNumberCodec.digits(accountTypeIdentity))) {
             throw new InternalError("Quantity numbers of sequence exceeded");
         }
     }
-}
\ No newline at end of file
+}
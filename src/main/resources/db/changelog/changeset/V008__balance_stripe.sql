@@ -0,0 +1,10 @@
+CREATE TABLE IF NOT EXISTS balance_stripe (
+    account_id     BIGINT NOT NULL,
+    stripe         INT NOT NULL,
+    actual_balance DECIMAL(18, 2) DEFAULT 0 NOT NULL,
+    updated_at     TIMESTAMPTZ DEFAULT CURRENT_TIMESTAMP NOT NULL,
+
+    PRIMARY KEY (account_id, stripe),
+    CONSTRAINT fk_balance_stripe_account_id
+        FOREIGN KEY (account_id) REFERENCES account (id) ON DELETE CASCADE
+);
@@ -0,0 +1,80 @@
+--liquibase formatted sql
+
+--changeset account-service:V009-1 splitStatements:false
+CREATE OR REPLACE FUNCTION create_balance_audit_partition(month_start DATE) RETURNS TEXT AS $$
+DECLARE
+    partition_name TEXT := 'balance_audit_' || to_char(month_start, 'YYYY_MM');
+BEGIN
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF balance_audit FOR VALUES FROM (%L) TO (%L)',
+                   partition_name,
+                   date_trunc('month', month_start)::date,
+                   (date_trunc('month', month_start) + INTERVAL '1 month')::date);
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
+
+--changeset account-service:V009-2
+ALTER TABLE balance_audit RENAME TO balance_audit_legacy;
+
+CREATE SEQUENCE IF NOT EXISTS balance_audit_seq;
+
+CREATE TABLE balance_audit (
+    id                    BIGINT NOT NULL DEFAULT nextval('balance_audit_seq'),
+    account_id            BIGINT NOT NULL,
+    balance_version       BIGINT NOT NULL,
+    authorization_balance DECIMAL(18, 2) NOT NULL,
+    actual_balance        DECIMAL(18, 2) NOT NULL,
+    operation_id          BIGINT NOT NULL,
+    created_at            TIMESTAMPTZ DEFAULT CURRENT_TIMESTAMP NOT NULL,
+
+    CONSTRAINT pk_balance_audit PRIMARY KEY (id, created_at),
+    CONSTRAINT fk_balance_audit_account_id FOREIGN KEY (account_id) REFERENCES account (id)
+) PARTITION BY RANGE (created_at);
+
+ALTER SEQUENCE balance_audit_seq OWNED BY balance_audit.id;
+
+CREATE INDEX IF NOT EXISTS idx_balance_audit_account_id_created_at
+    ON balance_audit (account_id, created_at);
+
+CREATE TABLE IF NOT EXISTS balance_audit_default PARTITION OF balance_audit DEFAULT;
+
+SELECT create_balance_audit_partition(month_start::date)
+FROM generate_series(
+        date_trunc('month', COALESCE((SELECT MIN(created_at) FROM balance_audit_legacy), CURRENT_TIMESTAMP)),
+        date_trunc('month', CURRENT_TIMESTAMP) + INTERVAL '3 months',
+        INTERVAL '1 month') AS month_start;
+
+SELECT setval('balance_audit_seq', COALESCE((SELECT MAX(id) FROM balance_audit_legacy), 0) + 1, false);
+
+--changeset account-service:V009-3 splitStatements:false
+CREATE OR REPLACE PROCEDURE move_balance_audit_legacy(batch_size INT) AS $$
+DECLARE
+    last_id    BIGINT := 0;
+    moved_rows INT;
+BEGIN
+    LOOP
+        WITH moved AS (
+            DELETE FROM balance_audit_legacy
+            WHERE id IN (SELECT id FROM balance_audit_legacy WHERE id > last_id ORDER BY id LIMIT batch_size)
+            RETURNING id, account_id, balance_version, authorization_balance, actual_balance, operation_id, created_at
+        ), inserted AS (
+            INSERT INTO balance_audit (id, account_id, balance_version, authorization_balance, actual_balance,
+                                       operation_id, created_at)
+            SELECT id, account_id, balance_version, authorization_balance, actual_balance, operation_id, created_at
+            FROM moved
+            RETURNING id
+        )
+        SELECT COUNT(*), COALESCE(MAX(id), last_id) INTO moved_rows, last_id FROM inserted;
+        EXIT WHEN moved_rows = 0;
+        COMMIT;
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+--changeset account-service:V009-4 runInTransaction:false
+CALL move_balance_audit_legacy(10000);
+
+--changeset account-service:V009-5
+DROP TABLE balance_audit_legacy;
+
+DROP PROCEDURE move_balance_audit_legacy(INT);
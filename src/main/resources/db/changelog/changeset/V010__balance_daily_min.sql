@@ -0,0 +1,10 @@
+CREATE TABLE IF NOT EXISTS balance_daily_min (
+    account_id           BIGINT NOT NULL,
+    day                  DATE NOT NULL,
+    min_actual_balance   DECIMAL(18, 2) NOT NULL,
+    close_actual_balance DECIMAL(18, 2) NOT NULL,
+
+    PRIMARY KEY (account_id, day),
+    CONSTRAINT fk_balance_daily_min_account_id
+        FOREIGN KEY (account_id) REFERENCES account (id) ON DELETE CASCADE
+);
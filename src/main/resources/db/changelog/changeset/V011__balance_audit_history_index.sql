@@ -0,0 +1,4 @@
+CREATE INDEX IF NOT EXISTS idx_balance_audit_account_id_created_at_id
+    ON balance_audit (account_id, created_at DESC, id DESC);
+
+DROP INDEX IF EXISTS idx_balance_audit_account_id_created_at;
@@ -0,0 +1,12 @@
+CREATE TABLE IF NOT EXISTS balance_operation (
+    account_id   BIGINT NOT NULL,
+    operation_id BIGINT NOT NULL,
+    result       TEXT,
+    created_at   TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT uq_balance_operation_account_id_operation_id PRIMARY KEY (account_id, operation_id),
+    CONSTRAINT fk_balance_operation_account_id
+        FOREIGN KEY (account_id) REFERENCES account (id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_balance_operation_created_at ON balance_operation (created_at);
@@ -0,0 +1,17 @@
+CREATE TABLE IF NOT EXISTS balance_hold (
+    account_id   BIGINT NOT NULL,
+    operation_id BIGINT NOT NULL,
+    amount       DECIMAL(18, 2) NOT NULL,
+    status       VARCHAR(16) NOT NULL,
+    expires_at   TIMESTAMP NOT NULL,
+    created_at   TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at   TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT pk_balance_hold PRIMARY KEY (account_id, operation_id),
+    CONSTRAINT fk_balance_hold_account_id
+        FOREIGN KEY (account_id) REFERENCES account (id) ON DELETE CASCADE,
+    CONSTRAINT chk_balance_hold_amount CHECK (amount > 0)
+);
+
+CREATE INDEX IF NOT EXISTS idx_balance_hold_open_expires_at
+    ON balance_hold (expires_at) WHERE status = 'OPEN';
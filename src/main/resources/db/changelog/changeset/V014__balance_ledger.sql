@@ -0,0 +1,17 @@
+CREATE TABLE IF NOT EXISTS balance_ledger (
+    id                  BIGSERIAL PRIMARY KEY,
+    account_id          BIGINT NOT NULL,
+    operation_id        BIGINT,
+    actual_delta        DECIMAL(18, 2) NOT NULL,
+    authorization_delta DECIMAL(18, 2) NOT NULL,
+    tx_id               BIGINT NOT NULL DEFAULT (pg_current_xact_id()::text::bigint),
+    created_at          TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT fk_balance_ledger_account_id
+        FOREIGN KEY (account_id) REFERENCES account (id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_balance_ledger_account_id_tx_id ON balance_ledger (account_id, tx_id);
+CREATE INDEX IF NOT EXISTS idx_balance_ledger_tx_id ON balance_ledger (tx_id);
+
+ALTER TABLE balance ADD COLUMN IF NOT EXISTS ledger_position BIGINT NOT NULL DEFAULT 1;
@@ -0,0 +1,12 @@
+CREATE TABLE IF NOT EXISTS balance_reconciliation_report (
+    id             BIGSERIAL PRIMARY KEY,
+    run_id         UUID NOT NULL,
+    account_id     BIGINT NOT NULL,
+    discrepancy    VARCHAR(32) NOT NULL,
+    expected_value VARCHAR(128),
+    actual_value   VARCHAR(128),
+    created_at     TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_balance_reconciliation_report_run_id
+    ON balance_reconciliation_report (run_id, account_id);
@@ -0,0 +1,18 @@
+ALTER TABLE balance ALTER COLUMN id SET GENERATED BY DEFAULT;
+ALTER TABLE balance ALTER COLUMN id SET INCREMENT BY 50;
+
+ALTER TABLE savings_account ALTER COLUMN id SET GENERATED BY DEFAULT;
+ALTER TABLE savings_account ALTER COLUMN id SET INCREMENT BY 50;
+
+ALTER TABLE tariff ALTER COLUMN id SET GENERATED BY DEFAULT;
+ALTER TABLE tariff ALTER COLUMN id SET INCREMENT BY 50;
+
+ALTER TABLE tariff_rate_changelog ALTER COLUMN id SET GENERATED BY DEFAULT;
+ALTER TABLE tariff_rate_changelog ALTER COLUMN id SET INCREMENT BY 50;
+
+ALTER TABLE savings_account_tariff_changelog ALTER COLUMN id SET GENERATED BY DEFAULT;
+ALTER TABLE savings_account_tariff_changelog ALTER COLUMN id SET INCREMENT BY 50;
+
+ALTER SEQUENCE request_task_id_seq INCREMENT BY 50;
+
+ALTER SEQUENCE balance_audit_seq INCREMENT BY 50;
@@ -0,0 +1,11 @@
+CREATE TABLE IF NOT EXISTS balance_audit_parked (
+    id                    BIGSERIAL PRIMARY KEY,
+    account_id            BIGINT,
+    balance_version       BIGINT,
+    authorization_balance DECIMAL(18, 2),
+    actual_balance        DECIMAL(18, 2),
+    operation_id          BIGINT,
+    created_at            TIMESTAMP,
+    error                 TEXT,
+    parked_at             TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,20 @@
+--liquibase formatted sql
+
+--changeset account-service:V018-1 splitStatements:false
+DO $$
+DECLARE
+    month_start DATE;
+BEGIN
+    IF to_regclass('balance_audit_default') IS NULL THEN
+        RETURN;
+    END IF;
+    ALTER TABLE balance_audit DETACH PARTITION balance_audit_default;
+    FOR month_start IN
+        SELECT DISTINCT date_trunc('month', created_at)::date FROM balance_audit_default
+    LOOP
+        PERFORM create_balance_audit_partition(month_start);
+    END LOOP;
+    INSERT INTO balance_audit SELECT * FROM balance_audit_default;
+    DROP TABLE balance_audit_default;
+END;
+$$;
@@ -0,0 +1 @@
+ALTER TABLE balance_operation ADD COLUMN IF NOT EXISTS payload_hash INTEGER;
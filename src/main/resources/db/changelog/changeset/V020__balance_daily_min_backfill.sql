@@ -0,0 +1,5 @@
+CREATE TABLE IF NOT EXISTS balance_daily_min_backfill (
+    backfill_from      DATE PRIMARY KEY,
+    backfilled_through DATE,
+    completed_at       TIMESTAMP
+);
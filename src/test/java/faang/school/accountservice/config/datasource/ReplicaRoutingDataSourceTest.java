@@ -0,0 +1,53 @@
+package faang.school.accountservice.config.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void readOnlyTransactionIsRoutedToReplicaTest() {
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(() -> true, meterRegistry);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(DataSourceType.REPLICA, dataSource.determineCurrentLookupKey());
+        assertEquals(1.0, meterRegistry.counter("datasource.routing.connections", "pool", "replica").count());
+    }
+
+    @Test
+    void writeTransactionIsRoutedToPrimaryTest() {
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(() -> true, meterRegistry);
+
+        assertEquals(DataSourceType.PRIMARY, dataSource.determineCurrentLookupKey());
+        assertEquals(1.0, meterRegistry.counter("datasource.routing.connections", "pool", "primary").count());
+    }
+
+    @Test
+    void readOnlyTransactionFallsBackToPrimaryWhenReplicaLagsTest() {
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(() -> false, meterRegistry);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(DataSourceType.PRIMARY, dataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void readOnlyTransactionWithPrimaryHintIsRoutedToPrimaryTest() {
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(() -> true, meterRegistry);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(DataSourceType.PRIMARY, PrimaryDataSourceHint.onPrimary(dataSource::determineCurrentLookupKey));
+        assertEquals(DataSourceType.REPLICA, dataSource.determineCurrentLookupKey());
+    }
+}
@@ -3,12 +3,14 @@ package faang.school.accountservice.controller;
 import faang.school.accountservice.dto.BalanceDto;
 import faang.school.accountservice.util.BaseContextTest;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @Sql("/db/Create_balance_for_test.sql")
@@ -32,4 +34,22 @@ public class BalanceControllerIT extends BaseContextTest {
         assertEquals(0, expectedBalance.getAuthorizationBalance().compareTo(actualBalance.getAuthorizationBalance()));
         assertEquals(0, expectedBalance.getActualBalance().compareTo(actualBalance.getActualBalance()));
     }
+
+    @Test
+    public void applyTransactionsRejectsTransactionWithoutAmountTest() throws Exception {
+        mockMvc.perform(post("/api/v1/account/1/balance/transactions")
+                        .header("x-user-id", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"operationId\": 1, \"operationType\": \"CLEARING\"}]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void applyPostingsRejectsPostingWithoutOperationTypeTest() throws Exception {
+        mockMvc.perform(post("/api/v1/account/balance/postings")
+                        .header("x-user-id", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"accountId\": 1, \"operationId\": 1, \"amount\": 10}]"))
+                .andExpect(status().isBadRequest());
+    }
 }
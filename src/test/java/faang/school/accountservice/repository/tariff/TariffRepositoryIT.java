@@ -0,0 +1,60 @@
+package faang.school.accountservice.repository.tariff;
+
+import faang.school.accountservice.entity.tariff.Tariff;
+import faang.school.accountservice.enums.tariff.InterestPeriod;
+import faang.school.accountservice.util.BaseContextTest;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.jdbc.JdbcTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TariffRepositoryIT extends BaseContextTest {
+
+    @Autowired
+    private TariffRepository tariffRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        JdbcTestUtils.deleteFromTables(jdbcTemplate, "tariff");
+    }
+
+    @Test
+    void saveAllInsertsNewEntitiesInOneRoundTripTest() {
+        List<Tariff> tariffs = IntStream.range(0, 20)
+                .mapToObj(i -> Tariff.builder()
+                        .name("batch-tariff-" + i)
+                        .currentRate(BigDecimal.ONE)
+                        .interestPeriod(InterestPeriod.MONTHLY)
+                        .build())
+                .toList();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        transactionTemplate.executeWithoutResult(status -> tariffRepository.saveAll(tariffs));
+
+        // one sequence call reserves ids for the whole list, one batched INSERT writes it
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(20, statistics.getEntityInsertCount());
+        assertEquals(20, tariffRepository.count());
+    }
+}
@@ -0,0 +1,97 @@
+package faang.school.accountservice.service;
+
+import faang.school.accountservice.entity.AccountNumberSequence;
+import faang.school.accountservice.enums.AccountType;
+import faang.school.accountservice.properties.AccountNumberBlockProperties;
+import faang.school.accountservice.properties.AccountNumberFormatProperties;
+import faang.school.accountservice.properties.AccountTypeIdentityProperties;
+import faang.school.accountservice.properties.AccountTypeLengthProperties;
+import faang.school.accountservice.repository.AccountNumbersSequenceRepository;
+import faang.school.accountservice.validator.FreeAccountNumberValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AccountNumberBlockAllocatorTest {
+
+    @Mock
+    private AccountNumbersSequenceRepository accountNumbersSequenceRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final AtomicLong counter = new AtomicLong();
+
+    private AccountNumberBlockAllocator allocator;
+
+    @BeforeEach
+    void setUp() {
+        AccountNumberBlockProperties properties = new AccountNumberBlockProperties();
+        properties.setBlockSize(5);
+        properties.setLowWatermark(2);
+        AccountNumberBuilder accountNumberBuilder = new AccountNumberBuilder(
+                new AccountTypeIdentityProperties(3222, 4333, 5444, 6555),
+                new AccountTypeLengthProperties(12, 20, 16, 16),
+                new AccountNumberFormatProperties(),
+                new FreeAccountNumberValidator());
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(accountNumbersSequenceRepository.incrementCounter("DEBIT", 5L)).thenAnswer(invocation ->
+                new AccountNumberSequence(AccountType.DEBIT, counter.addAndGet(5)));
+        allocator = new AccountNumberBlockAllocator(accountNumbersSequenceRepository, accountNumberBuilder,
+                properties, transactionManager, Runnable::run, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void numbersAreHandedOutFromLeasedBlocksTest() {
+        List<String> numbers = IntStream.range(0, 6)
+                .mapToObj(i -> allocator.nextAccountNumber(AccountType.DEBIT))
+                .toList();
+
+        assertEquals("6555000000000001", numbers.get(0));
+        assertEquals("6555000000000006", numbers.get(5));
+        verify(accountNumbersSequenceRepository, times(2)).incrementCounter("DEBIT", 5L);
+    }
+
+    @Test
+    void concurrentCallersNeverShareASequenceValueTest() throws Exception {
+        Set<Long> sequences = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = IntStream.range(0, 8)
+                    .<Future<?>>mapToObj(i -> executor.submit(() -> {
+                        for (int j = 0; j < 500; j++) {
+                            sequences.add(allocator.nextSequence(AccountType.DEBIT));
+                        }
+                    }))
+                    .toList();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(4000, sequences.size());
+    }
+}
@@ -0,0 +1,144 @@
+package faang.school.accountservice.service;
+
+import faang.school.accountservice.entity.Account;
+import faang.school.accountservice.entity.BalanceAudit;
+import faang.school.accountservice.properties.balance.BalanceAuditBufferProperties;
+import faang.school.accountservice.repository.BalanceAuditBatchRepository;
+import faang.school.accountservice.repository.BalanceDailyMinRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceAuditBufferTest {
+
+    @Mock
+    private BalanceAuditBatchRepository balanceAuditBatchRepository;
+
+    @Mock
+    private BalanceDailyMinRepository balanceDailyMinRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private BalanceAuditBuffer balanceAuditBuffer;
+
+    @BeforeEach
+    void setUp() {
+        BalanceAuditBufferProperties properties = new BalanceAuditBufferProperties();
+        properties.setCapacity(100);
+        properties.setBatchSize(3);
+        properties.setFlushInterval(Duration.ofMillis(50));
+        properties.setMaxAttempts(2);
+        properties.setRetryBackoff(Duration.ofMillis(1));
+        properties.setUnwrittenCapacity(1);
+        balanceAuditBuffer = new BalanceAuditBuffer(balanceAuditBatchRepository, balanceDailyMinRepository, properties,
+                meterRegistry);
+        balanceAuditBuffer.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        balanceAuditBuffer.stop();
+    }
+
+    @Test
+    void enqueuedAuditsAreFlushedInBatchesTest() {
+        for (long operationId = 1; operationId <= 4; operationId++) {
+            balanceAuditBuffer.enqueueAfterCommit(audit(operationId));
+        }
+
+        verify(balanceAuditBatchRepository, timeout(1000)).insertAll(argThat(batch -> batch.size() == 3));
+        verify(balanceAuditBatchRepository, timeout(1000)).insertAll(
+                argThat((List<BalanceAudit> batch) -> batch.size() == 1 && batch.get(0).getOperationId() == 4L));
+    }
+
+    @Test
+    void failingAuditIsParkedWithoutDroppingItsBatchTest() {
+        BalanceAudit good = audit(1L);
+        BalanceAudit bad = audit(2L);
+        doThrow(new DataIntegrityViolationException("bad row"))
+                .when(balanceAuditBatchRepository).insertAll(argThat((List<BalanceAudit> batch) -> batch.contains(bad)));
+
+        balanceAuditBuffer.enqueueAfterCommit(good);
+        balanceAuditBuffer.enqueueAfterCommit(bad);
+
+        verify(balanceAuditBatchRepository, timeout(1000).times(2)).insertAll(List.of(good, bad));
+        verify(balanceAuditBatchRepository, timeout(1000)).insertAll(List.of(good));
+        verify(balanceAuditBatchRepository, timeout(1000)).park(eq(List.of(bad)), anyString());
+    }
+
+    @Test
+    void flushedAuditsRecordTheirDailyMinimumTest() {
+        balanceAuditBuffer.enqueueAfterCommit(audit(1L));
+
+        verify(balanceDailyMinRepository, timeout(1000)).recordAll(argThat(days -> days.size() == 1));
+        verify(balanceAuditBatchRepository, timeout(1000)).insertAll(argThat(batch -> batch.size() == 1));
+    }
+
+    @Test
+    void stopWritesEveryQueuedAuditBeforeReturningTest() throws InterruptedException {
+        List<Long> written = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(invocation -> {
+            List<BalanceAudit> batch = invocation.getArgument(0);
+            batch.forEach(audit -> written.add(audit.getOperationId()));
+            return null;
+        }).when(balanceAuditBatchRepository).insertAll(anyList());
+
+        for (long operationId = 1; operationId <= 50; operationId++) {
+            balanceAuditBuffer.enqueueAfterCommit(audit(operationId));
+        }
+        balanceAuditBuffer.stop();
+
+        assertEquals(LongStream.rangeClosed(1, 50).boxed().toList(), written.stream().sorted().toList());
+    }
+
+    @Test
+    void auditsBeyondUnwrittenCapacityAreDroppedTest() throws InterruptedException {
+        doThrow(new DataIntegrityViolationException("database is down"))
+                .when(balanceAuditBatchRepository).insertAll(anyList());
+        doThrow(new DataIntegrityViolationException("database is down"))
+                .when(balanceAuditBatchRepository).park(anyList(), any());
+
+        balanceAuditBuffer.enqueueAfterCommit(audit(1L));
+        balanceAuditBuffer.enqueueAfterCommit(audit(2L));
+        balanceAuditBuffer.stop();
+
+        assertTrue(meterRegistry.counter("balance.audit.buffer.dropped").count() >= 1);
+    }
+
+    private BalanceAudit audit(long operationId) {
+        Account account = new Account();
+        account.setId(1L);
+        return BalanceAudit.builder()
+                .account(account)
+                .operationId(operationId)
+                .actualBalance(BigDecimal.TEN)
+                .createdAt(LocalDateTime.of(2024, 3, 1, 9, 0))
+                .build();
+    }
+}
@@ -0,0 +1,67 @@
+package faang.school.accountservice.service;
+
+import faang.school.accountservice.properties.balance.BalanceAuditPartitionProperties;
+import faang.school.accountservice.repository.BalanceAuditPartitionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceAuditPartitionServiceTest {
+
+    @Mock
+    private BalanceAuditPartitionRepository partitionRepository;
+
+    private BalanceAuditPartitionProperties partitionProperties;
+
+    private BalanceAuditPartitionService partitionService;
+
+    @BeforeEach
+    void setUp() {
+        partitionProperties = new BalanceAuditPartitionProperties();
+        partitionProperties.setMonthsAhead(2);
+        partitionService = new BalanceAuditPartitionService(partitionRepository, partitionProperties);
+    }
+
+    @Test
+    void createFuturePartitionsTest() {
+        partitionService.createFuturePartitions(YearMonth.of(2024, 11));
+
+        verify(partitionRepository).createMonthlyPartition(LocalDate.of(2024, 11, 1));
+        verify(partitionRepository).createMonthlyPartition(LocalDate.of(2024, 12, 1));
+        verify(partitionRepository).createMonthlyPartition(LocalDate.of(2025, 1, 1));
+    }
+
+    @Test
+    void detachExpiredPartitionsTest() {
+        partitionProperties.setRetentionMonths(12);
+        when(partitionRepository.findMonthlyPartitions()).thenReturn(List.of(
+                "balance_audit_2023_10", "balance_audit_2023_11", "balance_audit_2024_06"));
+
+        partitionService.detachExpiredPartitions(YearMonth.of(2024, 11));
+
+        verify(partitionRepository, times(1)).detachPartition("balance_audit_2023_10");
+        verify(partitionRepository, never()).detachPartition("balance_audit_2023_11");
+        verify(partitionRepository, never()).detachPartition("balance_audit_2024_06");
+    }
+
+    @Test
+    void detachIsDisabledWithoutRetentionTest() {
+        partitionService.detachExpiredPartitions(YearMonth.of(2024, 11));
+
+        verify(partitionRepository, never()).findMonthlyPartitions();
+        verify(partitionRepository, never()).detachPartition(anyString());
+    }
+}
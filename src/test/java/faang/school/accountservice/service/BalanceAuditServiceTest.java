@@ -0,0 +1,105 @@
+package faang.school.accountservice.service;
+
+import faang.school.accountservice.entity.Account;
+import faang.school.accountservice.entity.Balance;
+import faang.school.accountservice.entity.BalanceAudit;
+import faang.school.accountservice.repository.BalanceAuditBatchRepository;
+import faang.school.accountservice.repository.BalanceAuditRepository;
+import faang.school.accountservice.repository.BalanceDailyMinRepository;
+import faang.school.accountservice.repository.BalanceDailyMinRepository.DailyBalance;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceAuditServiceTest {
+
+    @Mock
+    private BalanceAuditRepository balanceAuditRepository;
+
+    @Mock
+    private BalanceAuditBatchRepository balanceAuditBatchRepository;
+
+    @Mock
+    private BalanceAuditBuffer balanceAuditBuffer;
+
+    @Mock
+    private BalanceDailyMinRepository balanceDailyMinRepository;
+
+    @InjectMocks
+    private BalanceAuditService balanceAuditService;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void createAuditsRollsUpMinimumAndCloseByAccountAndDayTest() {
+        Account first = new Account();
+        first.setId(1L);
+        Account second = new Account();
+        second.setId(2L);
+        LocalDateTime morning = LocalDateTime.of(2024, 3, 1, 9, 0);
+        List<BalanceAudit> audits = List.of(
+                audit(first, morning, "100"),
+                audit(first, morning.plusHours(1), "40"),
+                audit(second, morning.plusHours(2), "7"),
+                audit(first, morning.plusHours(3), "60"));
+
+        balanceAuditService.createAudits(audits);
+
+        ArgumentCaptor<Collection<DailyBalance>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(balanceAuditBatchRepository).insertAll(audits);
+        verify(balanceDailyMinRepository).recordAll(captor.capture());
+        assertEquals(List.of(
+                new DailyBalance(1L, morning.toLocalDate(), new BigDecimal("40"), new BigDecimal("60")),
+                new DailyBalance(2L, morning.toLocalDate(), new BigDecimal("7"), new BigDecimal("7"))),
+                List.copyOf(captor.getValue()));
+    }
+
+    @Test
+    void enqueueAuditLeavesDailyMinimumToBufferedWriteTest() {
+        Account account = new Account();
+        account.setId(1L);
+        Balance balance = Balance.builder().account(account).version(3).actualBalance(BigDecimal.TEN).build();
+
+        balanceAuditService.enqueueAudit(balance, 7L);
+
+        verify(balanceAuditBuffer).enqueueAfterCommit(any(BalanceAudit.class));
+        verify(balanceDailyMinRepository, never()).recordAll(any());
+    }
+
+    @Test
+    void findMinimalActualBalanceReadsDailyRollupTest() {
+        LocalDate end = LocalDate.of(2024, 3, 1);
+        LocalDate start = end.minusMonths(1);
+        when(balanceDailyMinRepository.findMinimalActualBalance(1L, start, end))
+                .thenReturn(Optional.of(BigDecimal.TEN));
+
+        Optional<BigDecimal> result = balanceAuditService.findMinimalActualBalanceByAccountAndPeriod(
+                1L, start.atStartOfDay(), end.atStartOfDay());
+
+        assertEquals(Optional.of(BigDecimal.TEN), result);
+    }
+
+    private BalanceAudit audit(Account account, LocalDateTime createdAt, String actualBalance) {
+        return BalanceAudit.builder()
+                .account(account)
+                .actualBalance(new BigDecimal(actualBalance))
+                .createdAt(createdAt)
+                .build();
+    }
+}
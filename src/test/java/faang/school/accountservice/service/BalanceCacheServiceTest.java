@@ -0,0 +1,152 @@
+package faang.school.accountservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import faang.school.accountservice.dto.BalanceDto;
+import faang.school.accountservice.properties.balance.BalanceCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceCacheServiceTest {
+
+    private static final long ACCOUNT_ID = 1L;
+    private static final String KEY = "balance:1";
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private final BalanceCacheProperties cacheProperties = new BalanceCacheProperties();
+
+    private BalanceCacheService balanceCacheService;
+
+    private final BalanceDto balance = BalanceDto.builder()
+            .id(2L)
+            .version(3)
+            .actualBalance(new BigDecimal("10.00"))
+            .authorizationBalance(new BigDecimal("0.00"))
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        cacheProperties.setEnabled(true);
+        cacheProperties.setTtl(Duration.ofSeconds(5));
+        balanceCacheService = new BalanceCacheService(stringRedisTemplate, objectMapper, cacheProperties,
+                new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void getReturnsCachedBalanceTest() throws Exception {
+        when(stringRedisTemplate.<Object, Object>opsForHash()).thenReturn(hashOperations);
+        when(hashOperations.get(KEY, "payload")).thenReturn(objectMapper.writeValueAsString(balance));
+
+        assertEquals(Optional.of(balance), balanceCacheService.get(ACCOUNT_ID));
+    }
+
+    @Test
+    void getMissesWhenRedisFailsTest() {
+        when(stringRedisTemplate.<Object, Object>opsForHash()).thenReturn(hashOperations);
+        when(hashOperations.get(KEY, "payload")).thenThrow(new RedisConnectionFailureException("down"));
+
+        assertTrue(balanceCacheService.get(ACCOUNT_ID).isEmpty());
+    }
+
+    @Test
+    void disabledCacheIsNeverReadOrWrittenTest() {
+        cacheProperties.setEnabled(false);
+
+        assertTrue(balanceCacheService.get(ACCOUNT_ID).isEmpty());
+        balanceCacheService.put(ACCOUNT_ID, balance);
+        balanceCacheService.putAfterCommit(ACCOUNT_ID, balance);
+
+        verifyNoInteractions(stringRedisTemplate);
+    }
+
+    @Test
+    void putWritesThroughVersionCheckingScriptTest() throws Exception {
+        balanceCacheService.put(ACCOUNT_ID, balance);
+
+        verify(stringRedisTemplate).execute(any(RedisScript.class), eq(List.of(KEY)), eq("3"),
+                eq(objectMapper.writeValueAsString(balance)), eq("5000"));
+    }
+
+    @Test
+    void failedPutEvictsTheKeyTest() throws Exception {
+        doThrow(new RedisConnectionFailureException("down")).when(stringRedisTemplate).execute(
+                any(RedisScript.class), eq(List.of(KEY)), eq("3"), eq(objectMapper.writeValueAsString(balance)),
+                eq("5000"));
+
+        balanceCacheService.put(ACCOUNT_ID, balance);
+
+        verify(stringRedisTemplate).delete(KEY);
+    }
+
+    @Test
+    void putAfterCommitWaitsForCommitTest() throws Exception {
+        TransactionSynchronizationManager.initSynchronization();
+
+        balanceCacheService.putAfterCommit(ACCOUNT_ID, balance);
+        verifyNoInteractions(stringRedisTemplate);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(stringRedisTemplate).execute(any(RedisScript.class), eq(List.of(KEY)), eq("3"),
+                eq(objectMapper.writeValueAsString(balance)), eq("5000"));
+    }
+
+    @Test
+    void evictAfterCommitWaitsForCommitTest() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        balanceCacheService.evictAfterCommit(ACCOUNT_ID);
+        verify(stringRedisTemplate, never()).delete(anyString());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(stringRedisTemplate).delete(KEY);
+    }
+
+    @Test
+    void evictAfterCommitOutsideTransactionEvictsImmediatelyTest() {
+        balanceCacheService.evictAfterCommit(ACCOUNT_ID);
+
+        verify(stringRedisTemplate).delete(KEY);
+    }
+}
@@ -0,0 +1,73 @@
+package faang.school.accountservice.service;
+
+import faang.school.accountservice.repository.BalanceDailyMinRepository;
+import faang.school.accountservice.repository.BalanceDailyMinRepository.BackfillProgress;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceDailyMinBackfillServiceTest {
+
+    private static final LocalDate FROM = LocalDate.of(2024, 1, 1);
+
+    @Mock
+    private BalanceDailyMinRepository balanceDailyMinRepository;
+
+    @InjectMocks
+    private BalanceDailyMinBackfillService backfillService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(balanceDailyMinRepository.runExclusively(anyString(), any())).thenAnswer(invocation -> {
+            invocation.<Runnable>getArgument(1).run();
+            return true;
+        });
+    }
+
+    @Test
+    void backfillResumesAfterLastBackfilledDayAndCompletesTest() {
+        when(balanceDailyMinRepository.findBackfill(FROM))
+                .thenReturn(Optional.of(new BackfillProgress(FROM.plusDays(1), false)));
+
+        backfillService.backfillOnce(FROM, FROM.plusDays(3));
+
+        verify(balanceDailyMinRepository, never()).backfillDay(FROM);
+        verify(balanceDailyMinRepository, never()).backfillDay(FROM.plusDays(1));
+        verify(balanceDailyMinRepository).backfillDay(FROM.plusDays(2));
+        verify(balanceDailyMinRepository).saveBackfillProgress(FROM, FROM.plusDays(2));
+        verify(balanceDailyMinRepository).completeBackfill(FROM);
+    }
+
+    @Test
+    void completedBackfillIsNotRepeatedTest() {
+        when(balanceDailyMinRepository.findBackfill(FROM)).thenReturn(Optional.of(new BackfillProgress(null, true)));
+
+        backfillService.backfillOnce(FROM, FROM.plusDays(3));
+
+        verify(balanceDailyMinRepository, never()).backfillDay(any());
+        verify(balanceDailyMinRepository, never()).completeBackfill(any());
+    }
+
+    @Test
+    void backfillIsSkippedWhileAnotherNodeHoldsTheLockTest() {
+        when(balanceDailyMinRepository.runExclusively(anyString(), any())).thenReturn(false);
+
+        assertFalse(backfillService.backfillOnce(FROM, FROM.plusDays(3)));
+        verify(balanceDailyMinRepository, never()).findBackfill(any());
+    }
+}
@@ -0,0 +1,144 @@
+package faang.school.accountservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import faang.school.accountservice.dto.balance_history.BalanceHistoryEntryDto;
+import faang.school.accountservice.dto.balance_history.BalanceHistoryPageDto;
+import faang.school.accountservice.properties.balance.BalanceHistoryProperties;
+import faang.school.accountservice.repository.BalanceHistoryRepository;
+import faang.school.accountservice.service.archive.BalanceAuditArchive;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceHistoryServiceTest {
+
+    private static final long ACCOUNT_ID = 1L;
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123_456_000);
+    private static final LocalDateTime HOT_FROM = LocalDateTime.of(2023, 3, 1, 0, 0);
+
+    @Mock
+    private BalanceHistoryRepository balanceHistoryRepository;
+
+    @Mock
+    private BalanceAuditArchive balanceAuditArchive;
+
+    private BalanceHistoryService balanceHistoryService;
+
+    @BeforeEach
+    void setUp() {
+        BalanceHistoryProperties properties = new BalanceHistoryProperties();
+        properties.setDefaultPageSize(2);
+        properties.setStreamFetchSize(100);
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        balanceHistoryService = new BalanceHistoryService(balanceHistoryRepository, properties, objectMapper,
+                balanceAuditArchive);
+    }
+
+    @Test
+    void getHistoryReturnsCursorPointingAtLastEntryOfPageTest() {
+        BalanceHistoryEntryDto first = entry(3L, NOW);
+        BalanceHistoryEntryDto second = entry(2L, NOW.minusSeconds(1));
+        BalanceHistoryEntryDto third = entry(1L, NOW.minusSeconds(2));
+        when(balanceAuditArchive.findHotBoundary()).thenReturn(HOT_FROM);
+        when(balanceHistoryRepository.findFirstPage(ACCOUNT_ID, HOT_FROM, 3)).thenReturn(List.of(first, second, third));
+        when(balanceHistoryRepository.findPageAfter(ACCOUNT_ID, HOT_FROM, second.getCreatedAt(), 2L, 3))
+                .thenReturn(List.of(third));
+
+        BalanceHistoryPageDto firstPage = balanceHistoryService.getHistory(ACCOUNT_ID, null, null);
+        BalanceHistoryPageDto lastPage = balanceHistoryService.getHistory(ACCOUNT_ID, firstPage.getNextCursor(), null);
+
+        assertEquals(List.of(first, second), firstPage.getItems());
+        assertEquals(List.of(third), lastPage.getItems());
+        assertNull(lastPage.getNextCursor());
+    }
+
+    @Test
+    void getHistoryContinuesIntoArchivedAuditsTest() {
+        BalanceHistoryEntryDto hot = entry(3L, NOW);
+        BalanceHistoryEntryDto archived = entry(2L, NOW.minusMonths(13));
+        BalanceHistoryEntryDto older = entry(1L, NOW.minusMonths(14));
+        when(balanceAuditArchive.findHotBoundary()).thenReturn(HOT_FROM);
+        when(balanceHistoryRepository.findFirstPage(ACCOUNT_ID, HOT_FROM, 3)).thenReturn(List.of(hot));
+        when(balanceAuditArchive.findHistory(ACCOUNT_ID, NOW, 3L, 2)).thenReturn(List.of(archived, older));
+
+        BalanceHistoryPageDto page = balanceHistoryService.getHistory(ACCOUNT_ID, null, null);
+
+        assertEquals(List.of(hot, archived), page.getItems());
+        assertEquals(balanceHistoryService.encodeCursor(archived), page.getNextCursor());
+    }
+
+    @Test
+    void getHistorySkipsHotTableForCursorsBeforeArchiveBoundaryTest() {
+        BalanceHistoryEntryDto archived = entry(2L, HOT_FROM.minusDays(1));
+        String cursor = balanceHistoryService.encodeCursor(archived);
+        when(balanceAuditArchive.findHotBoundary()).thenReturn(HOT_FROM);
+        when(balanceAuditArchive.findHistory(ACCOUNT_ID, archived.getCreatedAt(), 2L, 3)).thenReturn(List.of());
+
+        BalanceHistoryPageDto page = balanceHistoryService.getHistory(ACCOUNT_ID, cursor, null);
+
+        assertTrue(page.getItems().isEmpty());
+        verify(balanceHistoryRepository, never()).findPageAfter(anyLong(), any(), any(), anyLong(), anyInt());
+    }
+
+    @Test
+    void getHistoryRejectsMalformedCursorTest() {
+        assertThrows(IllegalArgumentException.class,
+                () -> balanceHistoryService.getHistory(ACCOUNT_ID, "not-a-cursor", null));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void streamHistoryWritesOneJsonLinePerEntryTest() {
+        when(balanceAuditArchive.findHotBoundary()).thenReturn(HOT_FROM);
+        doAnswer(invocation -> {
+            Consumer<BalanceHistoryEntryDto> consumer = invocation.getArgument(3);
+            consumer.accept(entry(2L, NOW));
+            consumer.accept(entry(1L, NOW.minusSeconds(1)));
+            return null;
+        }).when(balanceHistoryRepository)
+                .streamByAccountId(eq(ACCOUNT_ID), eq(HOT_FROM), eq(100), any(Consumer.class));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        balanceHistoryService.streamHistory(ACCOUNT_ID, outputStream);
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"id\":2"));
+        assertTrue(lines[1].contains("\"id\":1"));
+    }
+
+    private BalanceHistoryEntryDto entry(long id, LocalDateTime createdAt) {
+        return BalanceHistoryEntryDto.builder()
+                .id(id)
+                .balanceVersion(id)
+                .actualBalance(BigDecimal.TEN)
+                .authorizationBalance(BigDecimal.ZERO)
+                .operationId(id)
+                .createdAt(createdAt)
+                .build();
+    }
+}
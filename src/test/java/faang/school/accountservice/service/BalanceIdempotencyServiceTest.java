@@ -0,0 +1,110 @@
+package faang.school.accountservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import faang.school.accountservice.dto.BalanceDto;
+import faang.school.accountservice.enums.OperationType;
+import faang.school.accountservice.exception.OperationInProgressException;
+import faang.school.accountservice.properties.balance.BalanceIdempotencyProperties;
+import faang.school.accountservice.repository.BalanceOperationRepository;
+import faang.school.accountservice.repository.BalanceOperationRepository.StoredOperation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceIdempotencyServiceTest {
+
+    private static final long ACCOUNT_ID = 1L;
+    private static final long OPERATION_ID = 7L;
+    private static final int PAYLOAD_HASH =
+            BalanceIdempotencyService.payloadHash(BigDecimal.TEN, OperationType.CLEARING);
+
+    @Mock
+    private BalanceOperationRepository balanceOperationRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private BalanceIdempotencyService balanceIdempotencyService;
+
+    private final BalanceDto result = BalanceDto.builder()
+            .id(2L)
+            .version(3)
+            .actualBalance(new BigDecimal("10.00"))
+            .authorizationBalance(new BigDecimal("0.00"))
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        balanceIdempotencyService = new BalanceIdempotencyService(balanceOperationRepository, objectMapper,
+                new BalanceIdempotencyProperties(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void firstOperationIsNotReplayedTest() {
+        when(balanceOperationRepository.find(ACCOUNT_ID, OPERATION_ID)).thenReturn(Optional.empty());
+
+        assertTrue(balanceIdempotencyService.findReplay(ACCOUNT_ID, OPERATION_ID, PAYLOAD_HASH).isEmpty());
+    }
+
+    @Test
+    void completedOperationIsRecordedOnceAndReplayedFromMemoryTest() throws Exception {
+        when(balanceOperationRepository.record(ACCOUNT_ID, OPERATION_ID, PAYLOAD_HASH,
+                objectMapper.writeValueAsString(result))).thenReturn(true);
+
+        balanceIdempotencyService.complete(ACCOUNT_ID, OPERATION_ID, PAYLOAD_HASH, result);
+
+        assertEquals(Optional.of(result), balanceIdempotencyService.findReplay(ACCOUNT_ID, OPERATION_ID, PAYLOAD_HASH));
+        verify(balanceOperationRepository, never()).find(anyLong(), anyLong());
+    }
+
+    @Test
+    void storedOperationIsReplayedTest() throws Exception {
+        when(balanceOperationRepository.find(ACCOUNT_ID, OPERATION_ID))
+                .thenReturn(Optional.of(new StoredOperation(PAYLOAD_HASH, objectMapper.writeValueAsString(result))));
+
+        assertEquals(Optional.of(result), balanceIdempotencyService.findReplay(ACCOUNT_ID, OPERATION_ID, PAYLOAD_HASH));
+    }
+
+    @Test
+    void operationReusedWithDifferentPayloadIsRejectedTest() throws Exception {
+        int otherPayloadHash = BalanceIdempotencyService.payloadHash(BigDecimal.ONE, OperationType.CLEARING);
+        when(balanceOperationRepository.find(ACCOUNT_ID, OPERATION_ID))
+                .thenReturn(Optional.of(new StoredOperation(PAYLOAD_HASH, objectMapper.writeValueAsString(result))));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> balanceIdempotencyService.findReplay(ACCOUNT_ID, OPERATION_ID, otherPayloadHash));
+    }
+
+    @Test
+    void completionLosingToConcurrentDuplicateFailsTest() throws Exception {
+        when(balanceOperationRepository.record(ACCOUNT_ID, OPERATION_ID, PAYLOAD_HASH,
+                objectMapper.writeValueAsString(result))).thenReturn(false);
+
+        assertThrows(OperationInProgressException.class,
+                () -> balanceIdempotencyService.complete(ACCOUNT_ID, OPERATION_ID, PAYLOAD_HASH, result));
+    }
+
+    @Test
+    void payloadHashIgnoresAmountScaleButNotOperationTypeTest() {
+        assertEquals(PAYLOAD_HASH,
+                BalanceIdempotencyService.payloadHash(new BigDecimal("10.00"), OperationType.CLEARING));
+        assertNotEquals(PAYLOAD_HASH,
+                BalanceIdempotencyService.payloadHash(BigDecimal.TEN, OperationType.AUTHORIZATION));
+    }
+}
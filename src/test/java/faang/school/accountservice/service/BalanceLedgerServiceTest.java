@@ -0,0 +1,89 @@
+package faang.school.accountservice.service;
+
+import faang.school.accountservice.entity.Account;
+import faang.school.accountservice.entity.Balance;
+import faang.school.accountservice.exception.BalanceBelowZeroException;
+import faang.school.accountservice.repository.BalanceLedgerRepository;
+import faang.school.accountservice.repository.BalanceLedgerRepository.LedgerTail;
+import faang.school.accountservice.repository.BalanceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceLedgerServiceTest {
+
+    private static final long ACCOUNT_ID = 1L;
+    private static final long LEDGER_POSITION = 500L;
+
+    @Mock
+    private BalanceRepository balanceRepository;
+
+    @Mock
+    private BalanceLedgerRepository balanceLedgerRepository;
+
+    @InjectMocks
+    private BalanceLedgerService balanceLedgerService;
+
+    private Balance snapshot;
+
+    @BeforeEach
+    void setUp() {
+        Account account = new Account();
+        account.setId(ACCOUNT_ID);
+        snapshot = Balance.builder()
+                .id(2L)
+                .account(account)
+                .actualBalance(BigDecimal.valueOf(100))
+                .authorizationBalance(BigDecimal.valueOf(100))
+                .version(7)
+                .ledgerPosition(LEDGER_POSITION)
+                .build();
+    }
+
+    @Test
+    void creditAppendsEntryWithoutLockingSnapshotTest() {
+        when(balanceRepository.findByAccountId(ACCOUNT_ID)).thenReturn(Optional.of(snapshot));
+        when(balanceLedgerRepository.sumTail(ACCOUNT_ID, LEDGER_POSITION))
+                .thenReturn(new LedgerTail(BigDecimal.valueOf(-30), BigDecimal.ZERO, 2));
+
+        Balance result = balanceLedgerService.append(ACCOUNT_ID, 9L, BigDecimal.TEN, BigDecimal.ZERO);
+
+        assertEquals(BigDecimal.valueOf(80), result.getActualBalance());
+        assertEquals(10, result.getVersion());
+        verify(balanceRepository, never()).findByAccountIdForUpdate(any());
+        verify(balanceLedgerRepository).append(ACCOUNT_ID, 9L, BigDecimal.TEN, BigDecimal.ZERO);
+    }
+
+    @Test
+    void entryWithoutOperationIdIsRejectedTest() {
+        assertThrows(IllegalArgumentException.class, () -> balanceLedgerService.append(
+                ACCOUNT_ID, null, BigDecimal.TEN, BigDecimal.ZERO));
+        verify(balanceLedgerRepository, never()).append(anyLong(), any(), any(), any());
+    }
+
+    @Test
+    void debitCountsTailBeforeCheckingOverdraftTest() {
+        when(balanceRepository.findByAccountIdForUpdate(ACCOUNT_ID)).thenReturn(Optional.of(snapshot));
+        when(balanceLedgerRepository.sumTail(ACCOUNT_ID, LEDGER_POSITION))
+                .thenReturn(new LedgerTail(BigDecimal.valueOf(-90), BigDecimal.ZERO, 1));
+
+        assertThrows(BalanceBelowZeroException.class, () -> balanceLedgerService.append(
+                ACCOUNT_ID, 9L, BigDecimal.valueOf(-20), BigDecimal.ZERO));
+        verify(balanceLedgerRepository, never()).append(anyLong(), any(), any(), any());
+    }
+}
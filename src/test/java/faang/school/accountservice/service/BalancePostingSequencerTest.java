@@ -0,0 +1,118 @@
+package faang.school.accountservice.service;
+
+import faang.school.accountservice.dto.BalanceDto;
+import faang.school.accountservice.dto.TransactionDto;
+import faang.school.accountservice.enums.OperationType;
+import faang.school.accountservice.exception.BalanceBelowZeroException;
+import faang.school.accountservice.properties.BalanceSequencerProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BalancePostingSequencerTest {
+
+    @Mock
+    private BalanceService balanceService;
+
+    private final List<Runnable> scheduledTasks = new ArrayList<>();
+
+    private BalancePostingSequencer sequencer;
+
+    @BeforeEach
+    void setUp() {
+        BalanceSequencerProperties properties = new BalanceSequencerProperties(1, 1, 10, "test-", 10);
+        sequencer = new BalancePostingSequencer(balanceService, scheduledTasks::add, properties);
+    }
+
+    @Test
+    void submitGroupsPostingsOfOneAccountIntoSingleCommitTest() {
+        Long accountId = 1L;
+        TransactionDto first = new TransactionDto(1L, BigDecimal.TEN, OperationType.CLEARING);
+        TransactionDto second = new TransactionDto(2L, BigDecimal.ONE, OperationType.CLEARING);
+        BalanceDto firstResult = BalanceDto.builder().version(2).build();
+        BalanceDto secondResult = BalanceDto.builder().version(3).build();
+        when(balanceService.applyTransactionGroup(accountId, List.of(first, second)))
+                .thenReturn(List.of(firstResult, secondResult));
+
+        CompletableFuture<BalanceDto> firstFuture = sequencer.submit(accountId, first);
+        CompletableFuture<BalanceDto> secondFuture = sequencer.submit(accountId, second);
+        assertEquals(1, scheduledTasks.size());
+        scheduledTasks.remove(0).run();
+
+        assertEquals(firstResult, firstFuture.join());
+        assertEquals(secondResult, secondFuture.join());
+        verify(balanceService, times(1)).applyTransactionGroup(eq(accountId), anyList());
+        verify(balanceService, never()).updateBalance(any(), any());
+    }
+
+    @Test
+    void submitFallsBackToSinglePostingsWhenGroupFailsTest() {
+        Long accountId = 1L;
+        TransactionDto valid = new TransactionDto(1L, BigDecimal.TEN, OperationType.CLEARING);
+        TransactionDto overdraft = new TransactionDto(2L, BigDecimal.valueOf(-100), OperationType.CLEARING);
+        BalanceDto validResult = BalanceDto.builder().version(2).build();
+        when(balanceService.applyTransactionGroup(accountId, List.of(valid, overdraft)))
+                .thenThrow(new BalanceBelowZeroException(accountId, BigDecimal.valueOf(-100)));
+        when(balanceService.updateBalance(accountId, valid)).thenReturn(validResult);
+        when(balanceService.updateBalance(accountId, overdraft))
+                .thenThrow(new BalanceBelowZeroException(accountId, BigDecimal.valueOf(-100)));
+
+        CompletableFuture<BalanceDto> validFuture = sequencer.submit(accountId, valid);
+        CompletableFuture<BalanceDto> overdraftFuture = sequencer.submit(accountId, overdraft);
+        scheduledTasks.remove(0).run();
+
+        assertEquals(validResult, validFuture.join());
+        assertTrue(overdraftFuture.isCompletedExceptionally());
+    }
+
+    @Test
+    void submitAfterDrainReusesSingleWriterTest() {
+        Long accountId = 1L;
+        TransactionDto first = new TransactionDto(1L, BigDecimal.TEN, OperationType.CLEARING);
+        TransactionDto second = new TransactionDto(2L, BigDecimal.ONE, OperationType.CLEARING);
+        BalanceDto firstResult = BalanceDto.builder().version(2).build();
+        BalanceDto secondResult = BalanceDto.builder().version(3).build();
+        when(balanceService.applyTransactionGroup(accountId, List.of(first))).thenReturn(List.of(firstResult));
+        when(balanceService.applyTransactionGroup(accountId, List.of(second))).thenReturn(List.of(secondResult));
+
+        CompletableFuture<BalanceDto> firstFuture = sequencer.submit(accountId, first);
+        scheduledTasks.remove(0).run();
+        CompletableFuture<BalanceDto> secondFuture = sequencer.submit(accountId, second);
+
+        assertEquals(1, scheduledTasks.size());
+        scheduledTasks.remove(0).run();
+        assertEquals(firstResult, firstFuture.join());
+        assertEquals(secondResult, secondFuture.join());
+    }
+
+    @Test
+    void postRethrowsPostingFailureUnwrappedTest() {
+        Long accountId = 1L;
+        TransactionDto overdraft = new TransactionDto(1L, BigDecimal.valueOf(-100), OperationType.CLEARING);
+        BalanceSequencerProperties properties = new BalanceSequencerProperties(1, 1, 10, "test-", 10);
+        BalancePostingSequencer directSequencer = new BalancePostingSequencer(balanceService, Runnable::run, properties);
+        when(balanceService.applyTransactionGroup(accountId, List.of(overdraft)))
+                .thenThrow(new BalanceBelowZeroException(accountId, BigDecimal.valueOf(-100)));
+
+        assertThrows(BalanceBelowZeroException.class, () -> directSequencer.post(accountId, overdraft));
+    }
+}
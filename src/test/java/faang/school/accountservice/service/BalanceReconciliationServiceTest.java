@@ -0,0 +1,125 @@
+package faang.school.accountservice.service;
+
+import faang.school.accountservice.enums.DiscrepancyType;
+import faang.school.accountservice.properties.balance.BalanceReconciliationProperties;
+import faang.school.accountservice.repository.BalanceReconciliationRepository;
+import faang.school.accountservice.repository.BalanceReconciliationRepository.AccountIdBounds;
+import faang.school.accountservice.repository.BalanceReconciliationRepository.Discrepancy;
+import faang.school.accountservice.repository.BalanceReconciliationRepository.ReconciledBalance;
+import faang.school.accountservice.service.BalanceReconciliationService.ReconciliationSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceReconciliationServiceTest {
+
+    @Mock
+    private BalanceReconciliationRepository reconciliationRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BalanceReconciliationService balanceReconciliationService;
+
+    @BeforeEach
+    void setUp() {
+        BalanceReconciliationProperties properties = new BalanceReconciliationProperties();
+        properties.setRangeSize(10);
+        properties.setParallelism(2);
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        balanceReconciliationService = new BalanceReconciliationService(reconciliationRepository, properties,
+                transactionManager, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void reconcileSplitsAccountIdSpaceAndReportsDiscrepanciesTest() {
+        when(reconciliationRepository.findAccountIdBounds()).thenReturn(Optional.of(new AccountIdBounds(1, 25)));
+        when(reconciliationRepository.findChainGaps(anyLong(), anyLong())).thenReturn(Map.of());
+        when(reconciliationRepository.findChainGaps(11L, 21L)).thenReturn(Map.of(12L, 2));
+        doAnswer(invocation -> {
+            long from = invocation.getArgument(0);
+            Consumer<ReconciledBalance> consumer = invocation.getArgument(4);
+            if (from == 1) {
+                consumer.accept(balance(1, 3, "100.00", 3L, "100"));
+                consumer.accept(balance(2, 5, "50.00", 4L, "40.00"));
+                consumer.accept(balance(3, 1, "0.00", null, null));
+            }
+            return null;
+        }).when(reconciliationRepository).streamRange(anyLong(), anyLong(), any(), anyInt(), any());
+
+        ReconciliationSummary summary = balanceReconciliationService.reconcile();
+
+        assertEquals(3, summary.ranges());
+        assertEquals(3, summary.accounts());
+        assertEquals(4, summary.discrepancies());
+        assertEquals(0, summary.failedRanges());
+        verify(reconciliationRepository).streamRange(eq(21L), eq(26L), any(), anyInt(), any());
+
+        ArgumentCaptor<List<Discrepancy>> captor = ArgumentCaptor.forClass(List.class);
+        verify(reconciliationRepository).saveDiscrepancies(eq(summary.runId()), captor.capture());
+        List<DiscrepancyType> types = captor.getValue().stream().map(Discrepancy::type).toList();
+        assertEquals(List.of(DiscrepancyType.VERSION_MISMATCH, DiscrepancyType.ACTUAL_BALANCE_MISMATCH,
+                DiscrepancyType.MISSING_AUDIT), types);
+        verify(reconciliationRepository).saveDiscrepancies(summary.runId(),
+                List.of(new Discrepancy(12L, DiscrepancyType.AUDIT_CHAIN_GAP, "0", "2")));
+    }
+
+    @Test
+    void failedRangeDoesNotStopOtherRangesTest() {
+        when(reconciliationRepository.findAccountIdBounds()).thenReturn(Optional.of(new AccountIdBounds(1, 20)));
+        when(reconciliationRepository.findChainGaps(anyLong(), anyLong())).thenReturn(Map.of());
+        when(reconciliationRepository.findChainGaps(1L, 11L)).thenThrow(new IllegalStateException("boom"));
+
+        ReconciliationSummary summary = balanceReconciliationService.reconcile();
+
+        assertEquals(2, summary.ranges());
+        assertEquals(1, summary.failedRanges());
+        verify(reconciliationRepository).streamRange(eq(11L), eq(21L), any(), anyInt(), any());
+        verify(reconciliationRepository, never()).saveDiscrepancies(any(UUID.class), any());
+    }
+
+    @Test
+    void reconcileWithoutBalancesDoesNothingTest() {
+        when(reconciliationRepository.findAccountIdBounds()).thenReturn(Optional.empty());
+
+        ReconciliationSummary summary = balanceReconciliationService.reconcile();
+
+        assertTrue(summary.elapsed().isZero());
+        verify(reconciliationRepository, never()).streamRange(anyLong(), anyLong(), any(), anyInt(), any());
+    }
+
+    private ReconciledBalance balance(long accountId, long version, String actual, Long auditVersion,
+                                      String auditActual) {
+        BigDecimal actualBalance = new BigDecimal(actual);
+        return new ReconciledBalance(accountId, version, actualBalance, actualBalance, auditVersion,
+                auditActual == null ? null : new BigDecimal(auditActual),
+                auditActual == null ? null : actualBalance);
+    }
+}
@@ -2,11 +2,21 @@ package faang.school.accountservice.service;
 
 import faang.school.accountservice.dto.BalanceDto;
 import faang.school.accountservice.dto.TransactionDto;
+import faang.school.accountservice.dto.posting.PostingDto;
+import faang.school.accountservice.dto.posting.PostingResultDto;
+import faang.school.accountservice.dto.transfer.TransferDto;
+import faang.school.accountservice.dto.transfer.TransferResultDto;
+import faang.school.accountservice.entity.Account;
 import faang.school.accountservice.entity.Balance;
+import faang.school.accountservice.entity.BalanceAudit;
 import faang.school.accountservice.enums.OperationType;
 import faang.school.accountservice.exception.BalanceBelowZeroException;
 import faang.school.accountservice.mapper.BalanceMapper;
+import faang.school.accountservice.properties.balance.BalanceLedgerProperties;
+import faang.school.accountservice.properties.balance.BalanceStripingProperties;
+import faang.school.accountservice.repository.BalanceBatchRepository;
 import faang.school.accountservice.repository.BalanceRepository;
+import faang.school.accountservice.repository.BalanceStripeRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,11 +27,20 @@ import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -32,9 +51,33 @@ public class BalanceServiceTest {
     @Mock
     private BalanceRepository balanceRepository;
 
+    @Mock
+    private BalanceBatchRepository balanceBatchRepository;
+
     @Mock
     private BalanceAuditService balanceAuditService;
 
+    @Mock
+    private BalanceStripeRepository balanceStripeRepository;
+
+    @Mock
+    private BalanceStripingProperties stripingProperties;
+
+    @Mock
+    private BalanceCacheService balanceCacheService;
+
+    @Mock
+    private BalanceIdempotencyService balanceIdempotencyService;
+
+    @Mock
+    private BalanceLedgerService balanceLedgerService;
+
+    @Mock
+    private BalanceLedgerProperties ledgerProperties;
+
+    @Mock
+    private BalanceViewService balanceViewService;
+
     @Spy
     private BalanceMapper balanceMapper = Mappers.getMapper(BalanceMapper.class);
 
@@ -68,24 +111,61 @@ public class BalanceServiceTest {
     }
 
     @Test
-    public void getNonExistentBalanceTest() {
+    public void getBalanceFillsCacheFromPrimaryTest() {
         Long accountId = 1L;
-        when(balanceRepository.findByAccountId(accountId)).thenReturn(Optional.empty());
+        BalanceDto primaryBalance = BalanceDto.builder().id(2L).version(5).build();
+        when(balanceCacheService.isEnabled()).thenReturn(true);
+        when(balanceCacheService.get(accountId)).thenReturn(Optional.empty());
+        when(balanceViewService.getPrimaryBalance(accountId)).thenReturn(primaryBalance);
+
+        BalanceDto receivedBalance = balanceService.getBalance(accountId);
 
-        assertThrows(EntityNotFoundException.class, () -> balanceService.getBalance(accountId));
+        assertEquals(primaryBalance, receivedBalance);
+        verify(balanceViewService, never()).getBalance(anyLong());
+        verify(balanceAuditService, never()).createAudit(any(), any());
+        verify(balanceCacheService, times(1)).put(accountId, primaryBalance);
     }
 
     @Test
-    public void getBalanceTest() {
+    public void getBalanceWithoutCacheMayReadReplicaTest() {
         Long accountId = 1L;
-        Balance balance = new Balance();
-        balance.setId(2L);
-        BalanceDto expectedBalanceDto = balanceMapper.toDto(balance);
-        when(balanceRepository.findByAccountId(accountId)).thenReturn(Optional.of(balance));
+        BalanceDto replicaBalance = BalanceDto.builder().id(2L).version(5).build();
+        when(balanceViewService.getBalance(accountId)).thenReturn(replicaBalance);
+
+        BalanceDto receivedBalance = balanceService.getBalance(accountId);
+
+        assertEquals(replicaBalance, receivedBalance);
+        verify(balanceViewService, never()).getPrimaryBalance(anyLong());
+        verify(balanceCacheService, never()).put(anyLong(), any());
+    }
+
+    @Test
+    public void getCachedBalanceTest() {
+        Long accountId = 1L;
+        BalanceDto cachedBalance = BalanceDto.builder().id(2L).version(5).build();
+        when(balanceCacheService.isEnabled()).thenReturn(true);
+        when(balanceCacheService.get(accountId)).thenReturn(Optional.of(cachedBalance));
+
+        BalanceDto receivedBalance = balanceService.getBalance(accountId);
+
+        assertEquals(cachedBalance, receivedBalance);
+        verify(balanceViewService, never()).getPrimaryBalance(anyLong());
+        verify(balanceAuditService, never()).createAudit(any(), any());
+    }
 
-        BalanceDto receivedBalance  = balanceService.getBalance(accountId);
+    @Test
+    public void getStripedBalanceReadsStripesInOneSnapshotTest() {
+        Long accountId = 1L;
+        BalanceDto stripedBalance = BalanceDto.builder().id(2L).actualBalance(BigDecimal.valueOf(75)).build();
+        when(stripingProperties.isStriped(accountId)).thenReturn(true);
+        when(balanceViewService.getStripedBalance(accountId)).thenReturn(stripedBalance);
 
-        assertEquals(expectedBalanceDto.getId(), receivedBalance.getId());
+        BalanceDto receivedBalance = balanceService.getBalance(accountId);
+
+        assertEquals(stripedBalance, receivedBalance);
+        verify(balanceRepository, never()).findViewByAccountId(accountId);
+        verify(balanceCacheService, never()).get(anyLong());
+        verify(balanceCacheService, never()).put(anyLong(), any());
     }
 
     @Test
@@ -97,7 +177,8 @@ public class BalanceServiceTest {
         balance.setAuthorizationBalance(BigDecimal.valueOf(50));
         balance.setActualBalance(BigDecimal.valueOf(50));
         TransactionDto transactionDto = new TransactionDto(operationId, BigDecimal.valueOf(-100), OperationType.AUTHORIZATION);
-        when(balanceRepository.findByAccountId(accountId)).thenReturn(Optional.of(balance));
+        when(balanceRepository.applyDelta(accountId, BigDecimal.ZERO, BigDecimal.valueOf(-100))).thenReturn(Optional.empty());
+        when(balanceRepository.existsByAccountId(accountId)).thenReturn(true);
 
         assertThrows(BalanceBelowZeroException.class, () -> balanceService.updateBalance(accountId, transactionDto));
     }
@@ -111,7 +192,8 @@ public class BalanceServiceTest {
         balance.setAuthorizationBalance(BigDecimal.valueOf(50));
         balance.setActualBalance(BigDecimal.valueOf(50));
         TransactionDto transactionDto = new TransactionDto(operationId, BigDecimal.valueOf(-100), OperationType.CLEARING);
-        when(balanceRepository.findByAccountId(accountId)).thenReturn(Optional.of(balance));
+        when(balanceRepository.applyDelta(accountId, BigDecimal.valueOf(-100), BigDecimal.ZERO)).thenReturn(Optional.empty());
+        when(balanceRepository.existsByAccountId(accountId)).thenReturn(true);
 
         assertThrows(BalanceBelowZeroException.class, () -> balanceService.updateBalance(accountId, transactionDto));
     }
@@ -127,7 +209,7 @@ public class BalanceServiceTest {
         Balance balance = new Balance();
         balance.setAccount(account);
         balance.setId(entityId);
-        balance.setAuthorizationBalance(BigDecimal.valueOf(50));
+        balance.setAuthorizationBalance(BigDecimal.valueOf(40));
         balance.setActualBalance(BigDecimal.valueOf(50));
 
         TransactionDto transactionDto = new TransactionDto();
@@ -135,8 +217,8 @@ public class BalanceServiceTest {
         transactionDto.setOperationType(OperationType.AUTHORIZATION);
         transactionDto.setOperationId(entityId);
 
-        when(balanceRepository.findByAccountId(entityId)).thenReturn(Optional.of(balance));
-        when(balanceRepository.save(any(Balance.class))).thenReturn(balance);
+        when(balanceRepository.applyDelta(entityId, BigDecimal.ZERO, BigDecimal.valueOf(-10)))
+                .thenReturn(Optional.of(balance));
 
         BalanceDto actualBalanceDto = balanceService.updateBalance(entityId, transactionDto);
 
@@ -144,7 +226,331 @@ public class BalanceServiceTest {
         assertEquals(BigDecimal.valueOf(40), actualBalanceDto.getAuthorizationBalance());
         assertEquals(BigDecimal.valueOf(50), actualBalanceDto.getActualBalance());
 
-        verify(balanceRepository, times(1)).findByAccountId(entityId);
-        verify(balanceRepository, times(1)).save(any(Balance.class));
+        verify(balanceRepository, times(1)).applyDelta(entityId, BigDecimal.ZERO, BigDecimal.valueOf(-10));
+        verify(balanceRepository, never()).findByAccountId(entityId);
+        verify(balanceRepository, never()).save(any(Balance.class));
+        verify(balanceAuditService, times(1)).enqueueAudit(balance, entityId);
+        verify(balanceCacheService, times(1)).putAfterCommit(entityId, actualBalanceDto);
+        verify(balanceIdempotencyService, times(1))
+                .complete(eq(entityId), eq(entityId), anyInt(), eq(actualBalanceDto));
+    }
+
+    @Test
+    public void updateBalanceReplaysDuplicateOperationTest() {
+        Long accountId = 1L;
+        Long operationId = 7L;
+        BalanceDto original = BalanceDto.builder().version(3).actualBalance(BigDecimal.TEN).build();
+        TransactionDto transactionDto = new TransactionDto(operationId, BigDecimal.TEN, OperationType.CLEARING);
+        when(balanceIdempotencyService.findReplay(eq(accountId), eq(operationId), anyInt()))
+                .thenReturn(Optional.of(original));
+
+        BalanceDto result = balanceService.updateBalance(accountId, transactionDto);
+
+        assertEquals(original, result);
+        verify(balanceRepository, never()).applyDelta(anyLong(), any(), any());
+        verify(balanceAuditService, never()).enqueueAudit(any(), any());
+        verify(balanceIdempotencyService, never()).complete(anyLong(), anyLong(), anyInt(), any());
+    }
+
+    @Test
+    public void updateNonExistentBalanceTest() {
+        Long accountId = 1L;
+        TransactionDto transactionDto = new TransactionDto(1L, BigDecimal.TEN, OperationType.CLEARING);
+        when(balanceRepository.applyDelta(accountId, BigDecimal.TEN, BigDecimal.ZERO)).thenReturn(Optional.empty());
+        when(balanceRepository.existsByAccountId(accountId)).thenReturn(false);
+
+        assertThrows(EntityNotFoundException.class, () -> balanceService.updateBalance(accountId, transactionDto));
+    }
+
+    @Test
+    public void applyTransactionsTest() {
+        Long accountId = 1L;
+        Balance balance = new Balance();
+        balance.setId(2L);
+        balance.setVersion(3);
+        balance.setAuthorizationBalance(BigDecimal.valueOf(50));
+        balance.setActualBalance(BigDecimal.valueOf(50));
+        List<TransactionDto> transactions = List.of(
+                new TransactionDto(1L, BigDecimal.valueOf(10), OperationType.CLEARING),
+                new TransactionDto(2L, BigDecimal.valueOf(-20), OperationType.CLEARING),
+                new TransactionDto(3L, BigDecimal.valueOf(-5), OperationType.AUTHORIZATION));
+        when(balanceRepository.findByAccountIdForUpdate(accountId)).thenReturn(Optional.of(balance));
+
+        BalanceDto result = balanceService.applyTransactions(accountId, transactions);
+
+        assertEquals(new BigDecimal("40.00"), result.getActualBalance());
+        assertEquals(new BigDecimal("45.00"), result.getAuthorizationBalance());
+        assertEquals(6, result.getVersion());
+        verify(balanceRepository, times(1))
+                .overwriteLockedBalance(2L, new BigDecimal("40.00"), new BigDecimal("45.00"), 3);
+        verify(balanceAuditService, times(1)).createAudits(argThat(audits -> audits.size() == 3));
+    }
+
+    @Test
+    public void applyTransactionsBelowZeroTest() {
+        Long accountId = 1L;
+        Balance balance = new Balance();
+        balance.setId(2L);
+        balance.setAuthorizationBalance(BigDecimal.valueOf(50));
+        balance.setActualBalance(BigDecimal.valueOf(50));
+        List<TransactionDto> transactions = List.of(
+                new TransactionDto(1L, BigDecimal.valueOf(-60), OperationType.CLEARING),
+                new TransactionDto(2L, BigDecimal.valueOf(100), OperationType.CLEARING));
+        when(balanceRepository.findByAccountIdForUpdate(accountId)).thenReturn(Optional.of(balance));
+
+        assertThrows(BalanceBelowZeroException.class, () -> balanceService.applyTransactions(accountId, transactions));
+        verify(balanceRepository, never()).overwriteLockedBalance(anyLong(), any(), any(), anyInt());
+        verify(balanceAuditService, never()).createAudits(any());
+    }
+
+    @Test
+    public void applyTransactionGroupReplaysClaimedOperationsTest() {
+        Long accountId = 1L;
+        Balance balance = Balance.builder().id(2L).version(3)
+                .actualBalance(BigDecimal.valueOf(50)).authorizationBalance(BigDecimal.ZERO).build();
+        TransactionDto first = new TransactionDto(1L, BigDecimal.valueOf(10), OperationType.CLEARING);
+        TransactionDto retried = new TransactionDto(2L, BigDecimal.valueOf(-20), OperationType.CLEARING);
+        BalanceDto original = BalanceDto.builder().id(2L).version(3).actualBalance(BigDecimal.valueOf(30)).build();
+        when(balanceRepository.findByAccountIdForUpdate(accountId)).thenReturn(Optional.of(balance));
+        when(balanceIdempotencyService.findReplay(eq(accountId), eq(2L), anyInt()))
+                .thenReturn(Optional.of(original));
+
+        List<BalanceDto> results = balanceService.applyTransactionGroup(accountId, List.of(first, retried, first));
+
+        assertEquals(new BigDecimal("60.00"), results.get(0).getActualBalance());
+        assertEquals(original, results.get(1));
+        assertEquals(results.get(0), results.get(2));
+        verify(balanceIdempotencyService, times(1)).findReplay(eq(accountId), eq(1L), anyInt());
+        verify(balanceIdempotencyService, times(1)).complete(eq(accountId), eq(1L), anyInt(), eq(results.get(0)));
+        verify(balanceRepository, times(1))
+                .overwriteLockedBalance(2L, new BigDecimal("60.00"), BigDecimal.ZERO.setScale(2), 1);
+    }
+
+    @Test
+    public void transferDebitsSourceCreditsTargetAndAuditsBothTest() {
+        Account firstAccount = new Account();
+        firstAccount.setId(1L);
+        Account secondAccount = new Account();
+        secondAccount.setId(2L);
+        Balance firstBalance = Balance.builder().id(10L).account(firstAccount).version(3)
+                .actualBalance(BigDecimal.valueOf(50)).authorizationBalance(BigDecimal.ZERO).build();
+        Balance secondBalance = Balance.builder().id(20L).account(secondAccount).version(8)
+                .actualBalance(BigDecimal.valueOf(5)).authorizationBalance(BigDecimal.ZERO).build();
+        when(balanceRepository.findAllByAccountIdsForUpdate(List.of(1L, 2L)))
+                .thenReturn(List.of(firstBalance, secondBalance));
+        when(balanceIdempotencyService.findReplay(anyLong(), eq(7L), anyInt())).thenReturn(Optional.empty());
+        when(balanceAuditService.buildAudit(any(Balance.class), eq(7L))).thenAnswer(invocation -> {
+            Balance balance = invocation.getArgument(0);
+            return BalanceAudit.builder()
+                    .account(balance.getAccount())
+                    .balanceVersion((long) balance.getVersion())
+                    .actualBalance(balance.getActualBalance())
+                    .operationId(7L)
+                    .build();
+        });
+
+        TransferResultDto result = balanceService.transfer(new TransferDto(1L, 2L, 7L, BigDecimal.TEN));
+
+        assertTrue(result.isSuccess());
+        assertEquals(new BigDecimal("40.00"), result.getFromBalance().getActualBalance());
+        assertEquals(new BigDecimal("15.00"), result.getToBalance().getActualBalance());
+        assertEquals(4, firstBalance.getVersion());
+        assertEquals(9, secondBalance.getVersion());
+        verify(balanceBatchRepository, times(1)).updateAll(argThat(balances -> balances.size() == 2
+                && balances.containsAll(List.of(firstBalance, secondBalance))));
+        verify(balanceAuditService, times(1)).createAudits(argThat(audits -> audits.size() == 2
+                && audits.get(0).getAccount().getId() == 1L
+                && audits.get(0).getActualBalance().equals(new BigDecimal("40.00"))
+                && audits.get(0).getBalanceVersion() == 4L
+                && audits.get(1).getAccount().getId() == 2L
+                && audits.get(1).getActualBalance().equals(new BigDecimal("15.00"))
+                && audits.get(1).getBalanceVersion() == 9L));
+        verify(balanceIdempotencyService, times(1)).complete(eq(1L), eq(7L), anyInt(), eq(result.getFromBalance()));
+        verify(balanceIdempotencyService, times(1)).complete(eq(2L), eq(7L), anyInt(), eq(result.getToBalance()));
+    }
+
+    @Test
+    public void applyTransfersReplaysClaimedTransferTest() {
+        Account firstAccount = new Account();
+        firstAccount.setId(1L);
+        Account secondAccount = new Account();
+        secondAccount.setId(2L);
+        Balance firstBalance = Balance.builder().id(10L).account(firstAccount)
+                .actualBalance(BigDecimal.valueOf(50)).authorizationBalance(BigDecimal.ZERO).build();
+        Balance secondBalance = Balance.builder().id(20L).account(secondAccount)
+                .actualBalance(BigDecimal.valueOf(5)).authorizationBalance(BigDecimal.ZERO).build();
+        BalanceDto fromOriginal = BalanceDto.builder().actualBalance(BigDecimal.valueOf(40)).build();
+        BalanceDto toOriginal = BalanceDto.builder().actualBalance(BigDecimal.valueOf(15)).build();
+        when(balanceRepository.findAllByAccountIdsForUpdate(List.of(1L, 2L)))
+                .thenReturn(List.of(firstBalance, secondBalance));
+        when(balanceIdempotencyService.findReplay(eq(1L), eq(7L), anyInt()))
+                .thenReturn(Optional.of(fromOriginal));
+        when(balanceIdempotencyService.findReplay(eq(2L), eq(7L), anyInt()))
+                .thenReturn(Optional.of(toOriginal));
+
+        TransferResultDto result = balanceService.transfer(new TransferDto(1L, 2L, 7L, BigDecimal.TEN));
+
+        assertTrue(result.isSuccess());
+        assertEquals(fromOriginal, result.getFromBalance());
+        assertEquals(toOriginal, result.getToBalance());
+        verify(balanceBatchRepository, never()).updateAll(any());
+        verify(balanceIdempotencyService, never()).complete(anyLong(), anyLong(), anyInt(), any());
+    }
+
+    @Test
+    public void applyPostingsTest() {
+        Account firstAccount = new Account();
+        firstAccount.setId(1L);
+        Account secondAccount = new Account();
+        secondAccount.setId(2L);
+        Balance firstBalance = Balance.builder().id(10L).account(firstAccount)
+                .actualBalance(BigDecimal.valueOf(100)).authorizationBalance(BigDecimal.ZERO).build();
+        Balance secondBalance = Balance.builder().id(20L).account(secondAccount)
+                .actualBalance(BigDecimal.valueOf(5)).authorizationBalance(BigDecimal.ZERO).build();
+        List<PostingDto> postings = List.of(
+                new PostingDto(2L, 1L, BigDecimal.valueOf(-10), OperationType.CLEARING),
+                new PostingDto(1L, 2L, BigDecimal.valueOf(-30), OperationType.CLEARING),
+                new PostingDto(3L, 3L, BigDecimal.TEN, OperationType.CLEARING),
+                new PostingDto(1L, 4L, BigDecimal.valueOf(20), OperationType.CLEARING));
+        when(balanceRepository.findAllByAccountIdsForUpdate(List.of(1L, 2L, 3L)))
+                .thenReturn(List.of(firstBalance, secondBalance));
+
+        List<PostingResultDto> results = balanceService.applyPostings(postings);
+
+        assertEquals(4, results.size());
+        assertFalse(results.get(0).isSuccess());
+        assertTrue(results.get(1).isSuccess());
+        assertFalse(results.get(2).isSuccess());
+        assertTrue(results.get(3).isSuccess());
+        verify(balanceBatchRepository, times(1)).updateAll(argThat(balances -> balances.size() == 1
+                && balances.iterator().next().getActualBalance().equals(new BigDecimal("90.00"))));
+        verify(balanceAuditService, times(1)).createAudits(argThat(audits -> audits.size() == 2));
+        assertEquals(BigDecimal.valueOf(100), firstBalance.getActualBalance());
+    }
+
+    @Test
+    public void applyPostingsDrainsStripesOfStripedAccountsTest() {
+        Account account = new Account();
+        account.setId(1L);
+        Balance balance = Balance.builder().id(10L).account(account)
+                .actualBalance(BigDecimal.valueOf(5)).authorizationBalance(BigDecimal.ZERO).build();
+        when(stripingProperties.isStriped(1L)).thenReturn(true);
+        when(balanceRepository.findAllByAccountIdsForUpdate(List.of(1L))).thenReturn(List.of(balance));
+        when(balanceStripeRepository.drain(1L)).thenReturn(BigDecimal.valueOf(20));
+
+        List<PostingResultDto> results = balanceService.applyPostings(
+                List.of(new PostingDto(1L, 1L, BigDecimal.valueOf(-15), OperationType.CLEARING)));
+
+        assertTrue(results.get(0).isSuccess());
+        verify(balanceBatchRepository, times(1)).updateAll(argThat(balances -> balances.size() == 1
+                && balances.iterator().next().getActualBalance().equals(new BigDecimal("10.00"))));
+    }
+
+    @Test
+    public void applyPostingsRestoresStripesOfUntouchedAccountsTest() {
+        Account account = new Account();
+        account.setId(1L);
+        Balance balance = Balance.builder().id(10L).account(account)
+                .actualBalance(BigDecimal.valueOf(5)).authorizationBalance(BigDecimal.ZERO).build();
+        when(stripingProperties.isStriped(1L)).thenReturn(true);
+        when(balanceRepository.findAllByAccountIdsForUpdate(List.of(1L))).thenReturn(List.of(balance));
+        when(balanceStripeRepository.drain(1L)).thenReturn(BigDecimal.valueOf(20));
+
+        List<PostingResultDto> results = balanceService.applyPostings(
+                List.of(new PostingDto(1L, 1L, BigDecimal.valueOf(-50), OperationType.CLEARING)));
+
+        assertFalse(results.get(0).isSuccess());
+        verify(balanceStripeRepository, times(1)).credit(1L, 0, BigDecimal.valueOf(20));
+        verify(balanceBatchRepository, never()).updateAll(any());
+    }
+
+    @Test
+    public void applyTransfersLocksAccountsInAscendingOrderTest() {
+        Account firstAccount = new Account();
+        firstAccount.setId(1L);
+        Account secondAccount = new Account();
+        secondAccount.setId(2L);
+        Balance firstBalance = Balance.builder().id(10L).account(firstAccount)
+                .actualBalance(BigDecimal.valueOf(50)).authorizationBalance(BigDecimal.ZERO).build();
+        Balance secondBalance = Balance.builder().id(20L).account(secondAccount)
+                .actualBalance(BigDecimal.valueOf(5)).authorizationBalance(BigDecimal.ZERO).build();
+        List<TransferDto> transfers = List.of(
+                new TransferDto(2L, 1L, 1L, BigDecimal.valueOf(5)),
+                new TransferDto(1L, 2L, 2L, BigDecimal.valueOf(80)),
+                new TransferDto(1L, 2L, 3L, BigDecimal.valueOf(30)));
+        when(balanceRepository.findAllByAccountIdsForUpdate(List.of(1L, 2L)))
+                .thenReturn(List.of(firstBalance, secondBalance));
+
+        List<TransferResultDto> results = balanceService.applyTransfers(transfers);
+
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        assertTrue(results.get(2).isSuccess());
+        assertEquals(new BigDecimal("25.00"), results.get(2).getFromBalance().getActualBalance());
+        assertEquals(new BigDecimal("30.00"), results.get(2).getToBalance().getActualBalance());
+        verify(balanceBatchRepository, times(1)).updateAll(argThat(balances -> balances.size() == 2));
+        verify(balanceAuditService, times(1)).createAudits(argThat(audits -> audits.size() == 4));
+    }
+
+    @Test
+    public void transferToSameAccountIsRejectedTest() {
+        TransferDto transfer = new TransferDto(1L, 1L, 1L, BigDecimal.TEN);
+
+        assertThrows(IllegalArgumentException.class, () -> balanceService.transfer(transfer));
+        verify(balanceBatchRepository, never()).updateAll(any());
+    }
+
+    @Test
+    public void transferWithoutOperationIdIsRejectedTest() {
+        TransferDto transfer = new TransferDto(1L, 2L, null, BigDecimal.TEN);
+
+        assertThrows(IllegalArgumentException.class, () -> balanceService.transfer(transfer));
+        verify(balanceBatchRepository, never()).updateAll(any());
+    }
+
+    @Test
+    public void transferWithSubCentAmountIsRejectedTest() {
+        TransferDto transfer = new TransferDto(1L, 2L, 1L, new BigDecimal("0.001"));
+
+        assertThrows(IllegalArgumentException.class, () -> balanceService.transfer(transfer));
+        verify(balanceBatchRepository, never()).updateAll(any());
+    }
+
+    @Test
+    public void updateStripedBalanceCreditTest() {
+        Long accountId = 1L;
+        Balance balance = Balance.builder().id(2L)
+                .actualBalance(BigDecimal.valueOf(50)).authorizationBalance(BigDecimal.ZERO).build();
+        TransactionDto transactionDto = new TransactionDto(7L, BigDecimal.TEN, OperationType.CLEARING);
+        when(stripingProperties.isStriped(accountId)).thenReturn(true);
+        when(stripingProperties.getStripes()).thenReturn(4);
+        when(balanceRepository.findByAccountId(accountId)).thenReturn(Optional.of(balance));
+        when(balanceStripeRepository.sumByAccountId(accountId)).thenReturn(BigDecimal.valueOf(25));
+
+        BalanceDto result = balanceService.updateBalance(accountId, transactionDto);
+
+        assertEquals(BigDecimal.valueOf(75), result.getActualBalance());
+        verify(balanceStripeRepository, times(1)).credit(eq(accountId), anyInt(), eq(BigDecimal.TEN));
+        verify(balanceRepository, never()).applyDelta(anyLong(), any(), any());
+        verify(balanceStripeRepository, never()).consolidate(anyLong());
+        verify(balanceAuditService, never()).enqueueAudit(any(), any());
+    }
+
+    @Test
+    public void updateStripedBalanceDebitConsolidatesTest() {
+        Long accountId = 1L;
+        Balance balance = Balance.builder().id(2L)
+                .actualBalance(BigDecimal.valueOf(40)).authorizationBalance(BigDecimal.ZERO).build();
+        TransactionDto transactionDto = new TransactionDto(7L, BigDecimal.valueOf(-10), OperationType.CLEARING);
+        when(stripingProperties.isStriped(accountId)).thenReturn(true);
+        when(balanceRepository.applyDelta(accountId, BigDecimal.valueOf(-10), BigDecimal.ZERO))
+                .thenReturn(Optional.of(balance));
+        when(balanceStripeRepository.sumByAccountId(accountId)).thenReturn(BigDecimal.ZERO);
+
+        BalanceDto result = balanceService.updateBalance(accountId, transactionDto);
+
+        assertEquals(BigDecimal.valueOf(40), result.getActualBalance());
+        verify(balanceStripeRepository, times(1)).consolidate(accountId);
+        verify(balanceStripeRepository, never()).credit(anyLong(), anyInt(), any());
     }
 }
@@ -0,0 +1,73 @@
+package faang.school.accountservice.service;
+
+import faang.school.accountservice.properties.balance.BalanceLedgerProperties;
+import faang.school.accountservice.repository.BalanceLedgerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceSnapshotServiceTest {
+
+    @Mock
+    private BalanceLedgerRepository balanceLedgerRepository;
+
+    private BalanceSnapshotService balanceSnapshotService;
+
+    @BeforeEach
+    void setUp() {
+        BalanceLedgerProperties ledgerProperties = new BalanceLedgerProperties();
+        ledgerProperties.setSnapshotBatchSize(2);
+        ledgerProperties.setMigrationBatchSize(2);
+        balanceSnapshotService = new BalanceSnapshotService(balanceLedgerRepository, ledgerProperties,
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    void advanceSnapshotsWalksPendingAccountsInBatchesUpToHorizonTest() {
+        when(balanceLedgerRepository.findLowestPosition()).thenReturn(100L);
+        when(balanceLedgerRepository.currentHorizon()).thenReturn(200L);
+        when(balanceLedgerRepository.findPendingAccountIds(100L, 200L, 0L, 2)).thenReturn(List.of(1L, 3L));
+        when(balanceLedgerRepository.findPendingAccountIds(100L, 200L, 3L, 2)).thenReturn(List.of(5L));
+        when(balanceLedgerRepository.advanceSnapshots(1L, 3L, 200L)).thenReturn(2);
+        when(balanceLedgerRepository.advanceSnapshots(5L, 5L, 200L)).thenReturn(1);
+
+        assertEquals(3, balanceSnapshotService.advanceSnapshots());
+    }
+
+    @Test
+    void advanceSnapshotsResumesFromPreviousHorizonTest() {
+        when(balanceLedgerRepository.findLowestPosition()).thenReturn(100L);
+        when(balanceLedgerRepository.currentHorizon()).thenReturn(200L, 300L);
+        when(balanceLedgerRepository.findPendingAccountIds(100L, 200L, 0L, 2)).thenReturn(List.of());
+        when(balanceLedgerRepository.findPendingAccountIds(200L, 300L, 0L, 2)).thenReturn(List.of());
+
+        balanceSnapshotService.advanceSnapshots();
+        assertEquals(0, balanceSnapshotService.advanceSnapshots());
+
+        verify(balanceLedgerRepository, times(1)).findLowestPosition();
+        verify(balanceLedgerRepository, never()).advanceSnapshots(anyLong(), anyLong(), anyLong());
+    }
+
+    @Test
+    void migrateAuditsWalksAllAccountsInBatchesTest() {
+        when(balanceLedgerRepository.findAccountIdsAfter(0L, 2)).thenReturn(List.of(1L, 2L));
+        when(balanceLedgerRepository.findAccountIdsAfter(2L, 2)).thenReturn(List.of(4L));
+        when(balanceLedgerRepository.migrateAudits(1L, 2L)).thenReturn(10);
+        when(balanceLedgerRepository.migrateAudits(4L, 4L)).thenReturn(4);
+
+        assertEquals(14, balanceSnapshotService.migrateAudits());
+    }
+}
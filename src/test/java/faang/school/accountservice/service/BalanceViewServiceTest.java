@@ -0,0 +1,74 @@
+package faang.school.accountservice.service;
+
+import faang.school.accountservice.dto.BalanceDto;
+import faang.school.accountservice.mapper.BalanceMapper;
+import faang.school.accountservice.repository.BalanceRepository;
+import faang.school.accountservice.repository.BalanceStripeRepository;
+import faang.school.accountservice.repository.projection.BalanceView;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceViewServiceTest {
+
+    @Mock
+    private BalanceRepository balanceRepository;
+
+    @Mock
+    private BalanceStripeRepository balanceStripeRepository;
+
+    @Spy
+    private BalanceMapper balanceMapper = Mappers.getMapper(BalanceMapper.class);
+
+    @InjectMocks
+    private BalanceViewService balanceViewService;
+
+    @Test
+    void getNonExistentBalanceTest() {
+        long accountId = 1L;
+        when(balanceRepository.findViewByAccountId(accountId)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> balanceViewService.getPrimaryBalance(accountId));
+    }
+
+    @Test
+    void getBalanceMapsViewTest() {
+        long accountId = 1L;
+        BalanceView balanceView = mock(BalanceView.class);
+        when(balanceView.getId()).thenReturn(2L);
+        when(balanceView.getAccountId()).thenReturn(accountId);
+        when(balanceRepository.findViewByAccountId(accountId)).thenReturn(Optional.of(balanceView));
+
+        BalanceDto receivedBalance = balanceViewService.getBalance(accountId);
+
+        assertEquals(2L, receivedBalance.getId());
+        assertEquals(accountId, receivedBalance.getAccount().getId());
+    }
+
+    @Test
+    void getStripedBalanceAddsStripesTest() {
+        long accountId = 1L;
+        BalanceView balanceView = mock(BalanceView.class);
+        when(balanceView.getActualBalance()).thenReturn(BigDecimal.valueOf(50));
+        when(balanceRepository.findViewByAccountId(accountId)).thenReturn(Optional.of(balanceView));
+        when(balanceStripeRepository.sumByAccountId(accountId)).thenReturn(BigDecimal.valueOf(25));
+
+        BalanceDto receivedBalance = balanceViewService.getStripedBalance(accountId);
+
+        assertEquals(BigDecimal.valueOf(75), receivedBalance.getActualBalance());
+    }
+}
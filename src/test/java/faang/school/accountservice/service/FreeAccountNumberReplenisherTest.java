@@ -0,0 +1,107 @@
+package faang.school.accountservice.service;
+
+import faang.school.accountservice.enums.AccountType;
+import faang.school.accountservice.properties.FreeAccountNumberReplenishmentProperties;
+import faang.school.accountservice.properties.FreeAccountNumbersGenerationProperties;
+import faang.school.accountservice.repository.AccountNumbersSequenceRepository;
+import faang.school.accountservice.repository.FreeAccountNumbersRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FreeAccountNumberReplenisherTest {
+
+    @Mock
+    private FreeAccountNumbersRepository freeAccountNumbersRepository;
+
+    @Mock
+    private AccountNumbersSequenceRepository accountNumbersSequenceRepository;
+
+    @Mock
+    private ObjectProvider<FreeAccountNumbersService> freeAccountNumbersServiceProvider;
+
+    @Mock
+    private FreeAccountNumbersService freeAccountNumbersService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private FreeAccountNumberReplenisher replenisher;
+
+    @BeforeEach
+    void setUp() {
+        FreeAccountNumbersGenerationProperties generationProperties = new FreeAccountNumbersGenerationProperties();
+        generationProperties.setMaxAmountByType(Map.of(AccountType.DEBIT, 100L));
+        FreeAccountNumberReplenishmentProperties replenishmentProperties = new FreeAccountNumberReplenishmentProperties();
+        replenishmentProperties.setCoverage(Duration.ofHours(2));
+        replenishmentProperties.setRateSmoothing(1.0);
+        lenient().when(freeAccountNumbersServiceProvider.getObject()).thenReturn(freeAccountNumbersService);
+        meterRegistry = new SimpleMeterRegistry();
+        replenisher = new FreeAccountNumberReplenisher(freeAccountNumbersRepository, accountNumbersSequenceRepository,
+                freeAccountNumbersServiceProvider, generationProperties, replenishmentProperties, Runnable::run, meterRegistry);
+    }
+
+    @Test
+    void targetFollowsConsumptionRateAndRefillsBelowWatermarkTest() {
+        when(freeAccountNumbersRepository.countByAccountType(any())).thenReturn(1_000L);
+        when(accountNumbersSequenceRepository.findCurrentValue(anyString())).thenReturn(5_000L);
+        replenisher.tick(0);
+
+        when(freeAccountNumbersRepository.countByAccountType(AccountType.DEBIT)).thenReturn(400L);
+        replenisher.tick(TimeUnit.MINUTES.toNanos(30));
+
+        assertEquals(2_400, replenisher.getTarget(AccountType.DEBIT));
+        verify(freeAccountNumbersService).ensureFreeAccountNumbers(AccountType.DEBIT, 2_400);
+        assertEquals(2_400, meterRegistry.get("account.number.pool.level").tag("type", "DEBIT").gauge().value());
+    }
+
+    @Test
+    void consumptionIsDerivedFromSharedPoolIncludingOtherNodesRefillsTest() {
+        when(freeAccountNumbersRepository.countByAccountType(any())).thenReturn(1_000L);
+        when(accountNumbersSequenceRepository.findCurrentValue(anyString())).thenReturn(5_000L);
+        replenisher.tick(0);
+
+        replenisher.recordConsumption(AccountType.DEBIT, 10_000);
+        when(freeAccountNumbersRepository.countByAccountType(AccountType.DEBIT)).thenReturn(1_500L);
+        when(accountNumbersSequenceRepository.findCurrentValue(AccountType.DEBIT.name())).thenReturn(6_100L);
+        replenisher.tick(TimeUnit.HOURS.toNanos(1));
+
+        assertEquals(1_200, replenisher.getTarget(AccountType.DEBIT));
+    }
+
+    @Test
+    void targetNeverDropsBelowConfiguredAmountTest() {
+        when(freeAccountNumbersRepository.countByAccountType(any())).thenReturn(1_000L);
+        when(accountNumbersSequenceRepository.findCurrentValue(anyString())).thenReturn(5_000L);
+        replenisher.tick(0);
+        replenisher.tick(TimeUnit.HOURS.toNanos(1));
+
+        assertEquals(100, replenisher.getTarget(AccountType.DEBIT));
+        verify(freeAccountNumbersService, never()).ensureFreeAccountNumbers(any(), anyLong());
+    }
+
+    @Test
+    void exhaustionIsCountedAndTriggersRefillTest() {
+        replenisher.recordExhaustion(AccountType.DEBIT);
+
+        assertEquals(1, meterRegistry.get("account.number.pool.exhausted").tag("type", "DEBIT").counter().count());
+        verify(freeAccountNumbersService).ensureFreeAccountNumbers(AccountType.DEBIT, 100);
+    }
+}
@@ -1,12 +1,19 @@
 package faang.school.accountservice.service;
 
 import faang.school.accountservice.entity.FreeAccountNumber;
+import faang.school.accountservice.repository.AccountNumbersSequenceRepository;
 import faang.school.accountservice.repository.FreeAccountNumbersRepository;
 import faang.school.accountservice.util.BaseContextTest;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -21,6 +28,12 @@ public class FreeAccountNumberServiceIT extends BaseContextTest {
     @Autowired
     FreeAccountNumbersRepository accountNumbersRepository;
 
+    @Autowired
+    AccountNumbersSequenceRepository accountNumbersSequenceRepository;
+
+    @Autowired
+    AccountNumberBuilder accountNumberBuilder;
+
     @Test
     public void getFreeAccountNumberTest() {
         AccountType accountType = AccountType.DEBIT;
@@ -51,6 +64,46 @@ public class FreeAccountNumberServiceIT extends BaseContextTest {
         }
     }
 
+    @Test
+    void getFreeAccountNumbersClaimsPoolAndGeneratesShortfallTest() {
+        AccountType accountType = AccountType.LEGAL;
+        freeAccountNumbersService.generateFreeAccountNumbers(accountType, 3);
+
+        List<String> firstClaim = freeAccountNumbersService.getFreeAccountNumbers(accountType, 2);
+        List<String> secondClaim = freeAccountNumbersService.getFreeAccountNumbers(accountType, 4);
+
+        assertEquals(2, firstClaim.size());
+        assertEquals(4, secondClaim.size());
+        Set<String> allNumbers = new HashSet<>(firstClaim);
+        allNumbers.addAll(secondClaim);
+        assertEquals(6, allNumbers.size());
+        assertEquals(0, accountNumbersRepository.countByAccountType(accountType));
+    }
+
+    @ParameterizedTest
+    @EnumSource(AccountType.class)
+    void generatedNumbersMatchBuildAccountNumberTest(AccountType accountType) {
+        int amount = 50;
+
+        freeAccountNumbersService.generateFreeAccountNumbers(accountType, amount);
+
+        long lastSequence = accountNumbersSequenceRepository.findAll().stream()
+                .filter(sequence -> sequence.getAccountType() == accountType)
+                .findFirst()
+                .orElseThrow()
+                .getCurrentSequenceValue();
+        Set<String> expectedNumbers = LongStream.rangeClosed(lastSequence - amount + 1, lastSequence)
+                .mapToObj(sequence -> accountNumberBuilder.buildAccountNumber(accountType, sequence))
+                .collect(Collectors.toSet());
+        Set<String> storedNumbers = accountNumbersRepository.findAll().stream()
+                .filter(number -> number.getAccountType() == accountType)
+                .map(FreeAccountNumber::getAccountNumber)
+                .collect(Collectors.toSet());
+        assertTrue(storedNumbers.containsAll(expectedNumbers));
+        expectedNumbers.forEach(number ->
+                assertEquals(accountNumberBuilder.getLengthByAccountType(accountType), number.length()));
+    }
+
     @Test
     void ensureFreeAccountNumbersTest() {
         freeAccountNumbersService.generateFreeAccountNumbers(AccountType.INDIVIDUAL, 1);
@@ -0,0 +1,85 @@
+package faang.school.accountservice.service.archive;
+
+import faang.school.accountservice.dto.balance_history.BalanceHistoryEntryDto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuditSegmentTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2023, 1, 1, 0, 0, 0, 123_000);
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void segmentReturnsAccountHistoryNewestFirstAcrossBlocksTest() throws IOException {
+        AuditSegment segment = writeSegment();
+
+        List<BalanceHistoryEntryDto> history = new ArrayList<>();
+        segment.forEachDescending(2L, null, null, history::add);
+
+        assertEquals(10, history.size());
+        assertEquals(20L, history.get(0).getId());
+        assertEquals(START.plusHours(9), history.get(0).getCreatedAt());
+        assertEquals(new BigDecimal("109.50"), history.get(0).getActualBalance());
+        assertEquals(11L, history.get(9).getId());
+        assertFalse(Files.exists(directory.resolve("segment.seg.tmp")));
+    }
+
+    @Test
+    void segmentResumesStrictlyBeforeCursorAndStopsOnRequestTest() throws IOException {
+        AuditSegment segment = writeSegment();
+
+        List<BalanceHistoryEntryDto> page = new ArrayList<>();
+        boolean exhausted = segment.forEachDescending(2L, START.plusHours(5), 16L, entry -> {
+            page.add(entry);
+            return page.size() < 3;
+        });
+
+        assertFalse(exhausted);
+        assertEquals(List.of(15L, 14L, 13L), page.stream().map(BalanceHistoryEntryDto::getId).toList());
+    }
+
+    @Test
+    void segmentFindsMinimalActualBalanceInPeriodTest() throws IOException {
+        AuditSegment segment = writeSegment();
+
+        assertEquals(OptionalLong.of(10_150), segment.findMinimalActualBalance(2L, START.plusHours(1), START.plusHours(4)));
+        assertEquals(OptionalLong.of(10_050), segment.findMinimalActualBalance(2L, START, START.plusDays(1)));
+        assertTrue(segment.findMinimalActualBalance(3L, START, START.plusDays(1)).isEmpty());
+    }
+
+    private AuditSegment writeSegment() throws IOException {
+        Path target = directory.resolve("segment.seg");
+        try (AuditSegmentWriter writer = AuditSegmentWriter.create(target, 4)) {
+            long id = 1;
+            for (long accountId = 1; accountId <= 2; accountId++) {
+                for (int hour = 0; hour < 10; hour++, id++) {
+                    writer.append(accountId, BalanceHistoryEntryDto.builder()
+                            .id(id)
+                            .balanceVersion((long) hour)
+                            .operationId(id)
+                            .authorizationBalance(BigDecimal.valueOf(hour))
+                            .actualBalance(new BigDecimal("100.50").add(BigDecimal.valueOf(hour)))
+                            .createdAt(START.plusHours(hour))
+                            .build());
+                }
+            }
+            writer.commit();
+        }
+        return AuditSegment.open(target);
+    }
+}
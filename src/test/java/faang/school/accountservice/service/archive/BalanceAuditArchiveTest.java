@@ -0,0 +1,124 @@
+package faang.school.accountservice.service.archive;
+
+import faang.school.accountservice.dto.balance_history.BalanceHistoryEntryDto;
+import faang.school.accountservice.properties.balance.BalanceArchiveProperties;
+import faang.school.accountservice.repository.BalanceAuditArchiveRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceAuditArchiveTest {
+
+    private static final String TABLE_NAME = "balance_audit_2023_01";
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2023, 1, 15, 12, 0);
+
+    @TempDir
+    private Path directory;
+
+    @Mock
+    private BalanceAuditArchiveRepository archiveRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BalanceAuditArchive balanceAuditArchive;
+
+    @BeforeEach
+    void setUp() {
+        BalanceArchiveProperties archiveProperties = new BalanceArchiveProperties();
+        archiveProperties.setDirectory(directory.toString());
+        balanceAuditArchive = new BalanceAuditArchive(archiveProperties, archiveRepository, transactionManager,
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    void pendingSegmentIsPromotedOnceItsTableIsDroppedTest() throws IOException {
+        Path pending = writeSegment(balanceAuditArchive.pendingSegmentPath(TABLE_NAME + ".000"));
+        when(archiveRepository.tryLockTable(TABLE_NAME)).thenReturn(true);
+        when(archiveRepository.tableExists(TABLE_NAME)).thenReturn(false);
+
+        balanceAuditArchive.loadSegments();
+
+        assertFalse(Files.exists(pending));
+        assertTrue(Files.exists(directory.resolve(TABLE_NAME + ".000.seg")));
+        assertEquals(1, balanceAuditArchive.findHistory(1L, null, null, 10).size());
+    }
+
+    @Test
+    void pendingSegmentOfUndroppedTableIsDiscardedTest() throws IOException {
+        Path pending = writeSegment(balanceAuditArchive.pendingSegmentPath(TABLE_NAME + ".000"));
+        when(archiveRepository.tryLockTable(TABLE_NAME)).thenReturn(true);
+        when(archiveRepository.tableExists(TABLE_NAME)).thenReturn(true);
+
+        balanceAuditArchive.loadSegments();
+
+        assertFalse(Files.exists(pending));
+        assertTrue(balanceAuditArchive.findHistory(1L, null, null, 10).isEmpty());
+    }
+
+    @Test
+    void pendingSegmentIsKeptWhileItsTableIsBeingArchivedTest() throws IOException {
+        Path pending = writeSegment(balanceAuditArchive.pendingSegmentPath(TABLE_NAME + ".000"));
+        when(archiveRepository.tryLockTable(TABLE_NAME)).thenReturn(false);
+
+        balanceAuditArchive.refreshSegments();
+
+        assertTrue(Files.exists(pending));
+        verify(archiveRepository, never()).tableExists(TABLE_NAME);
+        assertTrue(balanceAuditArchive.findHistory(1L, null, null, 10).isEmpty());
+    }
+
+    @Test
+    void refreshRegistersSegmentsWrittenAfterStartupTest() throws IOException {
+        balanceAuditArchive.loadSegments();
+        writeSegment(directory.resolve(TABLE_NAME + ".000.seg"));
+
+        balanceAuditArchive.refreshSegments();
+
+        assertEquals(1, balanceAuditArchive.findHistory(1L, null, null, 10).size());
+    }
+
+    @Test
+    void hotBoundaryIsTheMonthAfterTheNewestSegmentTest() throws IOException {
+        assertEquals(LocalDateTime.of(1970, 1, 1, 0, 0), balanceAuditArchive.findHotBoundary());
+        writeSegment(directory.resolve(TABLE_NAME + ".000.seg"));
+
+        balanceAuditArchive.refreshSegments();
+
+        assertEquals(LocalDateTime.of(2023, 2, 1, 0, 0), balanceAuditArchive.findHotBoundary());
+    }
+
+    private Path writeSegment(Path target) throws IOException {
+        try (AuditSegmentWriter writer = AuditSegmentWriter.create(target, 4)) {
+            writer.append(1L, BalanceHistoryEntryDto.builder()
+                    .id(1L)
+                    .balanceVersion(1L)
+                    .operationId(1L)
+                    .authorizationBalance(BigDecimal.ZERO)
+                    .actualBalance(BigDecimal.TEN)
+                    .createdAt(CREATED_AT)
+                    .build());
+            writer.commit();
+        }
+        return target;
+    }
+}
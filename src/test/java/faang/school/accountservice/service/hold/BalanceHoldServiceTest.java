@@ -0,0 +1,108 @@
+package faang.school.accountservice.service.hold;
+
+import faang.school.accountservice.dto.BalanceDto;
+import faang.school.accountservice.dto.hold.HoldDto;
+import faang.school.accountservice.enums.HoldStatus;
+import faang.school.accountservice.exception.HoldConflictException;
+import faang.school.accountservice.properties.balance.BalanceHoldProperties;
+import faang.school.accountservice.repository.BalanceHoldRepository;
+import faang.school.accountservice.repository.BalanceHoldRepository.OpenHoldConsumer;
+import faang.school.accountservice.service.BalanceService;
+import faang.school.accountservice.service.hold.BalanceHoldExpiryWheel.HoldKey;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceHoldServiceTest {
+
+    private static final long ACCOUNT_ID = 1L;
+    private static final long OPERATION_ID = 10L;
+    private static final BigDecimal AMOUNT = BigDecimal.valueOf(25);
+
+    @Mock
+    private BalanceHoldRepository balanceHoldRepository;
+
+    @Mock
+    private BalanceService balanceService;
+
+    @Mock
+    private BalanceHoldExpiryWheel expiryWheel;
+
+    @Spy
+    private BalanceHoldProperties holdProperties = new BalanceHoldProperties();
+
+    @InjectMocks
+    private BalanceHoldService balanceHoldService;
+
+    @Test
+    void placeHoldReservesAuthorizationBalanceAndSchedulesExpiryTest() {
+        LocalDateTime expiresAt = LocalDateTime.now().plusDays(1);
+        HoldDto hold = new HoldDto(OPERATION_ID, AMOUNT, expiresAt);
+        BalanceDto balance = BalanceDto.builder().version(2).build();
+        when(balanceHoldRepository.create(ACCOUNT_ID, OPERATION_ID, AMOUNT, expiresAt)).thenReturn(true);
+        when(balanceService.applyDelta(ACCOUNT_ID, OPERATION_ID, BigDecimal.ZERO, AMOUNT.negate())).thenReturn(balance);
+
+        assertEquals(balance, balanceHoldService.placeHold(ACCOUNT_ID, hold));
+        verify(expiryWheel).scheduleAfterCommit(new HoldKey(ACCOUNT_ID, OPERATION_ID), expiresAt);
+    }
+
+    @Test
+    void captureHoldMovesAmountToActualBalanceTest() {
+        when(balanceHoldRepository.closeOpenHold(ACCOUNT_ID, OPERATION_ID, HoldStatus.CAPTURED))
+                .thenReturn(Optional.of(AMOUNT));
+
+        balanceHoldService.captureHold(ACCOUNT_ID, OPERATION_ID);
+
+        verify(balanceService).applyDelta(ACCOUNT_ID, OPERATION_ID, AMOUNT.negate(), AMOUNT);
+    }
+
+    @Test
+    void releaseOfClosedHoldIsRejectedTest() {
+        when(balanceHoldRepository.closeOpenHold(ACCOUNT_ID, OPERATION_ID, HoldStatus.RELEASED))
+                .thenReturn(Optional.empty());
+        when(balanceHoldRepository.findStatus(ACCOUNT_ID, OPERATION_ID)).thenReturn(Optional.of(HoldStatus.EXPIRED));
+
+        assertThrows(HoldConflictException.class, () -> balanceHoldService.releaseHold(ACCOUNT_ID, OPERATION_ID));
+        verify(balanceService, never()).applyDelta(anyLong(), anyLong(), any(), any());
+    }
+
+    @Test
+    void expireOfAlreadyCapturedHoldIsNoOpTest() {
+        when(balanceHoldRepository.closeOpenHold(ACCOUNT_ID, OPERATION_ID, HoldStatus.EXPIRED))
+                .thenReturn(Optional.empty());
+
+        assertFalse(balanceHoldService.expireHold(ACCOUNT_ID, OPERATION_ID));
+        verify(balanceService, never()).applyDelta(anyLong(), anyLong(), any(), any());
+    }
+
+    @Test
+    void findOrphanedHoldsReturnsOpenHoldsPastTheGraceTest() {
+        doAnswer(invocation -> {
+            OpenHoldConsumer consumer = invocation.getArgument(2);
+            consumer.accept(ACCOUNT_ID, OPERATION_ID, LocalDateTime.now().minusHours(1));
+            return null;
+        }).when(balanceHoldRepository).forEachExpiredOpenHold(any(), eq(holdProperties.getSweepBatchSize()), any());
+
+        assertEquals(List.of(new HoldKey(ACCOUNT_ID, OPERATION_ID)), balanceHoldService.findOrphanedHolds());
+    }
+}
@@ -0,0 +1,48 @@
+package faang.school.accountservice.service.hold;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HierarchicalTimingWheelTest {
+
+    @Test
+    void advanceExpiresItemsInDeadlineOrderAcrossLevelsTest() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 4, 0);
+        wheel.add("far", 1_000);
+        wheel.add("near", 25);
+        wheel.add("middle", 170);
+        List<String> expired = new ArrayList<>();
+
+        wheel.advance(20, expired::add);
+        assertTrue(expired.isEmpty());
+
+        wheel.advance(30, expired::add);
+        assertEquals(List.of("near"), expired);
+
+        wheel.advance(169, expired::add);
+        assertEquals(List.of("near"), expired);
+
+        wheel.advance(180, expired::add);
+        assertEquals(List.of("near", "middle"), expired);
+
+        wheel.advance(1_010, expired::add);
+        assertEquals(List.of("near", "middle", "far"), expired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void addRejectsAlreadyDueDeadlineTest() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 4, 100);
+
+        assertFalse(wheel.add("due", 95));
+        assertFalse(wheel.add("now", 100));
+        assertTrue(wheel.add("later", 101));
+        assertEquals(1, wheel.size());
+    }
+}
@@ -11,7 +11,7 @@ import faang.school.accountservice.mapper.savings_account.SavingsAccountMapper;
 import faang.school.accountservice.repository.savings_account.SavingsAccountRepository;
 import faang.school.accountservice.service.AccountService;
 import faang.school.accountservice.service.BalanceAuditService;
-import faang.school.accountservice.service.BalanceService;
+import faang.school.accountservice.service.BalancePostingSequencer;
 import faang.school.accountservice.service.calculators.InterestCalculationHelper;
 import faang.school.accountservice.service.tariff.TariffService;
 import jakarta.persistence.EntityNotFoundException;
@@ -55,7 +55,7 @@ class SavingsAccountServiceTest {
     private SavingsAccountRepository savingsAccountRepository;
 
     @Mock
-    private BalanceService balanceService;
+    private BalancePostingSequencer balancePostingSequencer;
 
     @Mock
     private BalanceAuditService balanceAuditService;
@@ -289,7 +289,7 @@ class SavingsAccountServiceTest {
         verify(interestCalculationHelper, times(1)).getInterestStartDate(any(), any());
         verify(balanceAuditService, times(1)).findMinimalActualBalanceByAccountAndPeriod(eq(accountId), any(), any());
         verify(interestCalculationHelper, times(1)).calculateBalanceInterest(balanceCaptor.capture(), eq(tariff));
-        verify(balanceService, times(1)).updateBalance(eq(accountId), any());
+        verify(balancePostingSequencer, times(1)).post(eq(accountId), any());
         verify(savingsAccountRepository, times(1)).save(any());
 
         assertEquals(actualBalance, balanceCaptor.getValue());
@@ -327,7 +327,7 @@ class SavingsAccountServiceTest {
         verify(interestCalculationHelper, times(1)).getInterestStartDate(any(), any());
         verify(balanceAuditService, times(1)).findMinimalActualBalanceByAccountAndPeriod(eq(accountId), any(), any());
         verify(interestCalculationHelper, times(1)).calculateBalanceInterest(balanceCaptor.capture(), eq(tariff));
-        verify(balanceService, times(1)).updateBalance(eq(accountId), any());
+        verify(balancePostingSequencer, times(1)).post(eq(accountId), any());
         verify(savingsAccountRepository, times(1)).save(any());
 
         assertEquals(minimalBalanceAuditBalance, balanceCaptor.getValue());
@@ -0,0 +1,109 @@
+package faang.school.accountservice.util;
+
+import faang.school.accountservice.util.AccountNumberCodec.CheckDigit;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AccountNumberCodecTest {
+
+    @Test
+    void formatWithoutCheckDigitKeepsLegacyLayoutTest() {
+        AccountNumberCodec codec = new AccountNumberCodec(6555, 16, CheckDigit.NONE);
+
+        assertEquals("6555000000000001", codec.format(1));
+        assertEquals("6555123456789012", codec.format(123_456_789_012L));
+    }
+
+    @Test
+    void encodeWritesIntoCallerBufferTest() {
+        AccountNumberCodec codec = new AccountNumberCodec(4200, 12, CheckDigit.NONE);
+        char[] buffer = new char[14];
+        buffer[0] = '[';
+
+        int end = codec.encode(42, buffer, 1);
+        buffer[end] = ']';
+
+        assertEquals(13, end);
+        assertEquals("[420000000042]", new String(buffer, 0, end + 1));
+    }
+
+    @Test
+    void luhnCheckDigitProducesLuhnValidNumbersTest() {
+        AccountNumberCodec codec = new AccountNumberCodec(4000, 16, CheckDigit.LUHN);
+
+        assertEquals("4000000000000002", codec.format(0));
+        for (long sequence = 1; sequence < 1_000; sequence++) {
+            assertTrue(isLuhnValid(codec.format(sequence)));
+        }
+    }
+
+    @Test
+    void mod97CheckDigitsLeaveRemainderOneTest() {
+        AccountNumberCodec codec = new AccountNumberCodec(5000, 20, CheckDigit.MOD_97);
+
+        for (long sequence = 0; sequence < 1_000; sequence++) {
+            String accountNumber = codec.format(sequence);
+            assertEquals(20, accountNumber.length());
+            assertEquals(BigInteger.ONE, new BigInteger(accountNumber).mod(BigInteger.valueOf(97)));
+        }
+    }
+
+    @Test
+    void parseSequenceRoundTripsFormatTest() {
+        for (CheckDigit checkDigit : CheckDigit.values()) {
+            AccountNumberCodec codec = new AccountNumberCodec(6555, 16, checkDigit);
+            assertEquals(987_654L, codec.parseSequence(codec.format(987_654L)));
+        }
+    }
+
+    @Test
+    void isValidRejectsForeignOrCorruptedNumbersTest() {
+        AccountNumberCodec codec = new AccountNumberCodec(4000, 16, CheckDigit.LUHN);
+        String accountNumber = codec.format(77);
+        char corrupted = accountNumber.charAt(10) == '9' ? '0' : (char) (accountNumber.charAt(10) + 1);
+
+        assertTrue(codec.isValid(accountNumber));
+        assertFalse(codec.isValid("5000" + accountNumber.substring(4)));
+        assertFalse(codec.isValid(accountNumber.substring(1)));
+        assertFalse(codec.isValid(accountNumber.substring(0, 10) + corrupted + accountNumber.substring(11)));
+        assertFalse(codec.isValid("40000000000000a2"));
+        assertThrows(IllegalArgumentException.class, () -> codec.parseSequence("4000000000000003"));
+    }
+
+    @Test
+    void checkDigitsReduceSequenceCapacityTest() {
+        AccountNumberCodec plain = new AccountNumberCodec(4200, 8, CheckDigit.NONE);
+        AccountNumberCodec withCheck = new AccountNumberCodec(4200, 8, CheckDigit.MOD_97);
+
+        assertTrue(plain.fits(9_999));
+        assertFalse(withCheck.fits(100));
+        assertTrue(withCheck.fits(99));
+        assertThrows(IllegalArgumentException.class, () -> withCheck.format(100));
+        assertThrows(IllegalArgumentException.class, () -> new AccountNumberCodec(4200, 5, CheckDigit.MOD_97));
+    }
+
+    @Test
+    void digitsCountsWithoutFormattingTest() {
+        assertEquals(1, AccountNumberCodec.digits(0));
+        assertEquals(4, AccountNumberCodec.digits(6555));
+        assertEquals(19, AccountNumberCodec.digits(Long.MAX_VALUE));
+    }
+
+    private boolean isLuhnValid(String accountNumber) {
+        int sum = 0;
+        for (int i = 0; i < accountNumber.length(); i++) {
+            int digit = accountNumber.charAt(accountNumber.length() - 1 - i) - '0';
+            if (i % 2 == 1) {
+                digit = digit * 2 > 9 ? digit * 2 - 9 : digit * 2;
+            }
+            sum += digit;
+        }
+        return sum % 10 == 0;
+    }
+}
@@ -0,0 +1,30 @@
+package faang.school.accountservice.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MoneyTest {
+
+    @Test
+    void toMinorUnitsConvertsAndRoundsLikeNumericColumnTest() {
+        assertEquals(1234, Money.toMinorUnits(new BigDecimal("12.34")));
+        assertEquals(-500, Money.toMinorUnits(BigDecimal.valueOf(-5)));
+        assertEquals(13, Money.toMinorUnits(new BigDecimal("0.125")));
+        assertEquals(-13, Money.toMinorUnits(new BigDecimal("-0.125")));
+    }
+
+    @Test
+    void toDecimalKeepsTwoFractionDigitsTest() {
+        assertEquals(new BigDecimal("12.34"), Money.toDecimal(1234));
+        assertEquals(new BigDecimal("0.00"), Money.toDecimal(0));
+    }
+
+    @Test
+    void addFailsOnOverflowTest() {
+        assertThrows(ArithmeticException.class, () -> Money.add(Long.MAX_VALUE, 1));
+    }
+}